@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link AdaptivePollScheduler} decides which devices are due for polling.
+ * Moving or ignition-on devices are polled every base interval; parked or offline
+ * devices back off exponentially up to a maximum interval. A random jitter of
+ * up to -10% spreads the polls of idle devices over several cycles; it only ever
+ * shortens an interval so active devices are never pushed past the next cycle.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptivePollScheduler {
+
+    private static final double JITTER = 0.1;
+
+    private final long baseIntervalMs;
+    private final long maxIntervalMs;
+    private final Map<Integer, DeviceState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Polling state of one device
+     */
+    private static class DeviceState {
+        long nextPollAt;
+        long intervalMs;
+        boolean active = true; // poll fast until the first position tells otherwise
+        boolean online = true;
+        long lastPositionId;
+
+        DeviceState(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+    }
+
+    /**
+     * @param baseIntervalMs polling interval for active devices
+     * @param maxIntervalMs upper bound of the backed-off interval for idle devices
+     */
+    public AdaptivePollScheduler(long baseIntervalMs, long maxIntervalMs) {
+        this.baseIntervalMs = baseIntervalMs;
+        this.maxIntervalMs = Math.max(baseIntervalMs, maxIntervalMs);
+    }
+
+    /**
+     * Get the devices whose next poll is due.
+     *
+     * @param deviceIds all known devices
+     * @param now current time in milliseconds
+     * @return the subset of devices to poll now
+     */
+    public List<Integer> dueDevices(Collection<Integer> deviceIds, long now) {
+        List<Integer> due = new ArrayList<>();
+        for (Integer deviceId : deviceIds) {
+            DeviceState state = state(deviceId);
+            synchronized (state) {
+                if (state.nextPollAt <= now) {
+                    due.add(deviceId);
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Schedule the next poll of a device after it has been polled.
+     */
+    public void polled(int deviceId, long now) {
+        DeviceState state = state(deviceId);
+        synchronized (state) {
+            if (state.active && state.online) {
+                state.intervalMs = baseIntervalMs;
+            } else {
+                state.intervalMs = Math.min(state.intervalMs * 2, maxIntervalMs);
+            }
+            state.nextPollAt = now + withJitter(state.intervalMs);
+        }
+    }
+
+    /**
+     * Record an update pushed by webhook or WebSocket. Fresh data postpones the next poll.
+     */
+    public void pushed(int deviceId, long now) {
+        DeviceState state = state(deviceId);
+        synchronized (state) {
+            state.nextPollAt = Math.max(state.nextPollAt, now + withJitter(state.intervalMs));
+        }
+    }
+
+    /**
+     * Record whether a device is moving or has its ignition on.
+     */
+    public void updateActivity(int deviceId, boolean active) {
+        DeviceState state = state(deviceId);
+        synchronized (state) {
+            if (active && !state.active) {
+                // Started moving: poll fast from now on
+                state.intervalMs = baseIntervalMs;
+                state.nextPollAt = Math.min(state.nextPollAt, System.currentTimeMillis() + baseIntervalMs);
+            }
+            state.active = active;
+        }
+    }
+
+    /**
+     * Record the online/offline status reported by Traccar.
+     */
+    public void updateOnline(int deviceId, boolean online) {
+        DeviceState state = state(deviceId);
+        synchronized (state) {
+            state.online = online;
+        }
+    }
+
+    /**
+     * Record the ID of the latest position applied for a device.
+     */
+    public void updatePositionId(int deviceId, long positionId) {
+        DeviceState state = state(deviceId);
+        synchronized (state) {
+            state.lastPositionId = positionId;
+        }
+    }
+
+    /**
+     * Get the ID of the latest position applied for a device, or 0 if none.
+     */
+    public long getPositionId(int deviceId) {
+        DeviceState state = state(deviceId);
+        synchronized (state) {
+            return state.lastPositionId;
+        }
+    }
+
+    public void remove(int deviceId) {
+        states.remove(deviceId);
+    }
+
+    private DeviceState state(int deviceId) {
+        return states.computeIfAbsent(deviceId, id -> new DeviceState(baseIntervalMs));
+    }
+
+    private long withJitter(long intervalMs) {
+        double factor = 1.0 - ThreadLocalRandom.current().nextDouble(JITTER);
+        return (long) (intervalMs * factor);
+    }
+}
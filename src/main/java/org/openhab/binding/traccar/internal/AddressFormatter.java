@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link AddressFormatter} formats address components, named as in Nominatim's
+ * address details, into the address shown on the address channel. All geocoders use
+ * it so their addresses look the same.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public final class AddressFormatter {
+
+    private AddressFormatter() {
+    }
+
+    /**
+     * Format address components into readable string
+     * Format: Street number, Postcode City, Province, Country
+     */
+    public static @Nullable String format(Map<String, String> addressComponents) {
+        StringBuilder formatted = new StringBuilder();
+
+        // Street name and number
+        String road = getComponent(addressComponents, "road");
+        String houseNumber = getComponent(addressComponents, "house_number");
+        if (road != null) {
+            formatted.append(road);
+            if (houseNumber != null) {
+                formatted.append(" ").append(houseNumber);
+            }
+        }
+
+        // Postal code
+        String postcode = getComponent(addressComponents, "postcode");
+
+        // City (try multiple fields in order of preference)
+        String city = getComponent(addressComponents, "city");
+        if (city == null) {
+            city = getComponent(addressComponents, "town");
+        }
+        if (city == null) {
+            city = getComponent(addressComponents, "village");
+        }
+        if (city == null) {
+            city = getComponent(addressComponents, "municipality");
+        }
+
+        // Add postcode and city together
+        if (postcode != null || city != null) {
+            if (formatted.length() > 0) {
+                formatted.append(", ");
+            }
+            if (postcode != null) {
+                formatted.append(postcode);
+                if (city != null) {
+                    formatted.append(" ").append(city);
+                }
+            } else if (city != null) {
+                formatted.append(city);
+            }
+        }
+
+        // Province/State
+        String province = getComponent(addressComponents, "state");
+        if (province == null) {
+            province = getComponent(addressComponents, "province");
+        }
+        if (province == null) {
+            province = getComponent(addressComponents, "region");
+        }
+
+        if (province != null) {
+            if (formatted.length() > 0) {
+                formatted.append(", ");
+            }
+            formatted.append(province);
+        }
+
+        // Country
+        String country = getComponent(addressComponents, "country");
+        if (country != null) {
+            if (formatted.length() > 0) {
+                formatted.append(", ");
+            }
+            formatted.append(country);
+        }
+
+        return formatted.length() > 0 ? formatted.toString() : null;
+    }
+
+    /**
+     * Get address component, returns null if not present
+     */
+    private static @Nullable String getComponent(Map<String, String> addressComponents, String key) {
+        return addressComponents.get(key);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import static org.openhab.binding.traccar.internal.AttributeMapping.*;
+import static org.openhab.binding.traccar.internal.TraccarBindingConstants.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.MetricPrefix;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.core.types.util.UnitUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link AttributeMapper} converts position attributes into channel states using
+ * a table of {@link AttributeMapping}s indexed by attribute key. The table is built once
+ * from the built-in mappings plus the mappings configured on the thing, so applying it
+ * is a single pass over the attributes with one lookup per key.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class AttributeMapper {
+
+    private static final AttributeMapping[] DEFAULT_MAPPINGS = {
+            // Standard Traccar attributes
+            quantity("batteryLevel", CHANNEL_BATTERY_LEVEL, Units.PERCENT),
+            quantity("odometer", CHANNEL_ODOMETER, SIUnits.METRE), // device-reported, mainly OSMand
+            quantity("totalDistance", CHANNEL_TOTAL_DISTANCE, SIUnits.METRE), // Traccar server, all protocols
+            onOff("motion", CHANNEL_MOTION),
+            quantity("hours", CHANNEL_HOURS, Units.HOUR, 1 / 3600000.0), // milliseconds
+            integer("event", CHANNEL_EVENT),
+            integer("event", CHANNEL_EVENT_CODE), // Teltonika event code (e.g. 36 = OBD-II data update)
+            quantity("distance", CHANNEL_DISTANCE, SIUnits.METRE), // since last position
+            quantity("distance", CHANNEL_TRIP_DISTANCE, SIUnits.METRE),
+            string("activity", CHANNEL_ACTIVITY), // OSMand activity recognition
+            onOff("ignition", CHANNEL_IGNITION),
+            integer("sat", CHANNEL_GPS_SAT),
+            custom("rssi", CHANNEL_GSM_SIGNAL, AttributeMapper::gsmSignal),
+            quantity("gsm", CHANNEL_GSM_SIGNAL, Units.PERCENT).when(attributes -> !attributes.containsKey("rssi")),
+            number("pdop", CHANNEL_PDOP),
+            number("hdop", CHANNEL_HDOP),
+            quantity("power", CHANNEL_POWER, Units.VOLT),
+            quantity("battery", CHANNEL_BATTERY, Units.VOLT),
+            custom("operator", CHANNEL_OPERATOR, AttributeMapper::operatorCode),
+            string("vin", CHANNEL_VIN),
+
+            // Teltonika IO elements (experimental/unknown purpose)
+            integer("io42", CHANNEL_IO42), // varies 84-94, possibly intake air temperature
+            integer("io49", CHANNEL_IO49), // typically ~5816, possibly battery voltage in mV
+            integer("io51", CHANNEL_IO51), // varies 14000-14200, possibly alternator voltage in mV
+
+            // OBD-II trip meters from ECU (metres, published in km)
+            quantity("io199", CHANNEL_IO199, MetricPrefix.KILO(SIUnits.METRE), 0.001),
+            quantity("io205", CHANNEL_IO205, MetricPrefix.KILO(SIUnits.METRE), 0.001),
+            quantity("io389", CHANNEL_IO389, MetricPrefix.KILO(SIUnits.METRE), 0.001), // total mileage
+
+            // OBD-II data (Teltonika FMM920 with Bluetooth OBD-II dongle, only while ignition is ON)
+            integer("io30", CHANNEL_OBD_DTC_COUNT),
+            quantity("io31", CHANNEL_OBD_ENGINE_LOAD, Units.PERCENT),
+            quantity("io32", CHANNEL_OBD_COOLANT_TEMP, SIUnits.CELSIUS),
+            quantity("io33", CHANNEL_OBD_SHORT_FUEL_TRIM, Units.PERCENT),
+            quantity("io35", CHANNEL_OBD_FUEL_PRESSURE, SIUnits.PASCAL, 1000), // kPa
+            integer("io36", CHANNEL_OBD_RPM), // actual RPM
+            integer("io37", CHANNEL_OBD_RPM_REPORTED), // standard PID, often 0
+            quantity("io38", CHANNEL_OBD_SPEED, SIUnits.KILOMETRE_PER_HOUR),
+            // Bike reports fuel used, not remaining
+            custom("io48", CHANNEL_OBD_FUEL_LEVEL,
+                    value -> value instanceof Number number
+                            ? new QuantityType<>(100.0 - number.doubleValue(), Units.PERCENT)
+                            : null),
+            // With OBD-II data present the odometer attribute holds the vehicle's CAN bus odometer
+            quantity("odometer", CHANNEL_OBD_OEM_ODOMETER, SIUnits.METRE)
+                    .when(attributes -> attributes.containsKey("io30") || attributes.containsKey("io31")) };
+
+    private final Logger logger = LoggerFactory.getLogger(AttributeMapper.class);
+
+    private final Map<String, AttributeMapping[]> mappingsByKey;
+    private final Set<String> attributes;
+
+    /**
+     * Build the mapping table.
+     *
+     * @param customMappings additional mappings, e.g. "io9:analogInput:mV:1,io72:temperature:°C:0.1"
+     */
+    public AttributeMapper(@Nullable String customMappings) {
+        List<AttributeMapping> mappings = new ArrayList<>(List.of(DEFAULT_MAPPINGS));
+        mappings.addAll(parseMappings(customMappings));
+
+        Map<String, List<AttributeMapping>> grouped = new HashMap<>();
+        for (AttributeMapping mapping : mappings) {
+            grouped.computeIfAbsent(mapping.key, key -> new ArrayList<>()).add(mapping);
+        }
+        Map<String, AttributeMapping[]> index = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, list) -> index.put(key, list.toArray(AttributeMapping[]::new)));
+        mappingsByKey = Collections.unmodifiableMap(index);
+        attributes = Set.copyOf(index.keySet());
+    }
+
+    /**
+     * @return the attribute keys read by this mapper, which the position decoder has to keep
+     */
+    public Set<String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Convert the attributes of a position and publish the resulting states.
+     *
+     * @param attributes position attributes
+     * @param linked tells whether a channel is linked; unlinked channels are not converted
+     * @param publisher receives channel ID and state
+     */
+    public void apply(Map<String, Object> attributes, Predicate<String> linked, BiConsumer<String, State> publisher) {
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            AttributeMapping[] mappings = mappingsByKey.get(attribute.getKey());
+            if (mappings == null) {
+                continue;
+            }
+            for (AttributeMapping mapping : mappings) {
+                if (linked.test(mapping.channelId)) {
+                    State state = mapping.toState(attribute.getValue(), attributes);
+                    if (state != null) {
+                        publisher.accept(mapping.channelId, state);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<AttributeMapping> parseMappings(@Nullable String spec) {
+        List<AttributeMapping> result = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":", -1);
+            if (parts.length < 2 || parts.length > 4 || parts[0].isBlank() || parts[1].isBlank()) {
+                logger.warn("Ignoring invalid attribute mapping '{}', expected key:channelId[:unit[:scale]]",
+                        entry.trim());
+                continue;
+            }
+            String key = parts[0].trim();
+            String channelId = parts[1].trim();
+            try {
+                double scale = parts.length == 4 && !parts[3].isBlank() ? Double.parseDouble(parts[3].trim()) : 1.0;
+                String unitSymbol = parts.length >= 3 ? parts[2].trim() : "";
+                if (unitSymbol.isEmpty()) {
+                    result.add(number(key, channelId, scale));
+                } else {
+                    Unit<?> unit = UnitUtils.parseUnit(unitSymbol);
+                    if (unit == null) {
+                        logger.warn("Ignoring attribute mapping '{}', unknown unit '{}'", entry.trim(), unitSymbol);
+                        continue;
+                    }
+                    result.add(quantity(key, channelId, unit, scale));
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring attribute mapping '{}', invalid scale", entry.trim());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * GSM signal from "rssi": Teltonika reports 0-5 bars, other devices dBm or percent.
+     */
+    private static @Nullable State gsmSignal(Object value) {
+        if (!(value instanceof Number number)) {
+            return null;
+        }
+        double rssi = number.doubleValue();
+        double signalPercent;
+        if (rssi >= 0 && rssi <= 5) {
+            // Teltonika bar scale: 0-5 bars, convert to percentage
+            signalPercent = (rssi / 5.0) * 100.0;
+        } else if (rssi < 0) {
+            // dBm scale: -113 to -51 dBm
+            signalPercent = Math.max(0, Math.min(100, 2 * (rssi + 113)));
+        } else {
+            signalPercent = rssi; // Already percentage
+        }
+        return new QuantityType<>(signalPercent, Units.PERCENT);
+    }
+
+    /**
+     * Mobile operator code; numeric codes lose their decimal point (23801.0 -> 23801).
+     */
+    private static State operatorCode(Object value) {
+        return new StringType(value instanceof Number number ? String.valueOf(number.intValue()) : value.toString());
+    }
+}
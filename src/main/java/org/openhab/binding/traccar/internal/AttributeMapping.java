@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link AttributeMapping} describes how one Traccar position attribute is
+ * converted into the state of one channel.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class AttributeMapping {
+
+    /**
+     * Converts an attribute value into a channel state.
+     */
+    @FunctionalInterface
+    public interface Converter {
+        /**
+         * @return the state, or null if the value has an unexpected type
+         */
+        @Nullable
+        State convert(Object value);
+    }
+
+    public final String key;
+    public final String channelId;
+    public final Converter converter;
+    private final @Nullable Predicate<Map<String, Object>> condition;
+
+    private AttributeMapping(String key, String channelId, Converter converter,
+            @Nullable Predicate<Map<String, Object>> condition) {
+        this.key = key;
+        this.channelId = channelId;
+        this.converter = converter;
+        this.condition = condition;
+    }
+
+    /**
+     * Numeric attribute published as a quantity, multiplied by a scale factor.
+     */
+    public static AttributeMapping quantity(String key, String channelId, Unit<?> unit, double scale) {
+        return custom(key, channelId,
+                value -> value instanceof Number number ? new QuantityType<>(number.doubleValue() * scale, unit) : null);
+    }
+
+    public static AttributeMapping quantity(String key, String channelId, Unit<?> unit) {
+        return quantity(key, channelId, unit, 1.0);
+    }
+
+    /**
+     * Numeric attribute published as a plain decimal, multiplied by a scale factor.
+     */
+    public static AttributeMapping number(String key, String channelId, double scale) {
+        return custom(key, channelId,
+                value -> value instanceof Number number ? new DecimalType(number.doubleValue() * scale) : null);
+    }
+
+    public static AttributeMapping number(String key, String channelId) {
+        return number(key, channelId, 1.0);
+    }
+
+    /**
+     * Numeric attribute published as a whole number.
+     */
+    public static AttributeMapping integer(String key, String channelId) {
+        return custom(key, channelId,
+                value -> value instanceof Number number ? new DecimalType(number.intValue()) : null);
+    }
+
+    public static AttributeMapping onOff(String key, String channelId) {
+        return custom(key, channelId, value -> value instanceof Boolean bool ? OnOffType.from(bool) : null);
+    }
+
+    /**
+     * Attribute of any type published as text.
+     */
+    public static AttributeMapping string(String key, String channelId) {
+        return custom(key, channelId, value -> new StringType(value.toString()));
+    }
+
+    public static AttributeMapping custom(String key, String channelId, Converter converter) {
+        return new AttributeMapping(key, channelId, converter, null);
+    }
+
+    /**
+     * Only apply this mapping if the condition holds for the position's attributes.
+     */
+    public AttributeMapping when(Predicate<Map<String, Object>> condition) {
+        return new AttributeMapping(key, channelId, converter, condition);
+    }
+
+    /**
+     * Convert the attribute value if the mapping applies to these attributes.
+     *
+     * @return the state, or null if the mapping does not apply
+     */
+    public @Nullable State toState(Object value, Map<String, Object> attributes) {
+        Predicate<Map<String, Object>> localCondition = condition;
+        if (localCondition != null && !localCondition.test(attributes)) {
+            return null;
+        }
+        return converter.convert(value);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.ThingUID;
+
+/**
+ * The {@link BeaconKeys} holds the precomputed attribute keys of the BLE tags reported
+ * by a device and the channel UIDs of the beacon slots they are routed to, so beacon
+ * updates do not build strings.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public final class BeaconKeys {
+
+    private BeaconKeys() {
+    }
+
+    /**
+     * Position attribute keys of one tag ("tag1Mac", "tag1Rssi", ...).
+     */
+    public static final class Tag {
+        public final String name;
+        public final String mac;
+        public final String rssi;
+        public final String battery;
+        public final String lowBattery;
+        public final String beaconName;
+        public final String temperature;
+        public final String humidity;
+        public final String magnet;
+        public final String motion;
+        public final String motionCount;
+        public final String pitch;
+        public final String roll;
+
+        public Tag(int number) {
+            name = "tag" + number;
+            mac = name + "Mac";
+            rssi = name + "Rssi";
+            battery = name + "Battery";
+            lowBattery = name + "LowBattery";
+            beaconName = name + "Name";
+            temperature = name + "Temp";
+            humidity = name + "Humidity";
+            magnet = name + "Magnet";
+            motion = name + "Motion";
+            motionCount = name + "MotionCount";
+            pitch = name + "Pitch";
+            roll = name + "AngleRoll";
+        }
+    }
+
+    /**
+     * Channels and property name of one beacon slot ("beacon1-rssi", ...).
+     */
+    public static final class Slot {
+        public final int number;
+        public final String propertyName;
+        public final ChannelUID rssi;
+        public final ChannelUID distance;
+        public final ChannelUID mac;
+        public final ChannelUID battery;
+        public final ChannelUID lowBattery;
+        public final ChannelUID name;
+        public final ChannelUID temperature;
+        public final ChannelUID humidity;
+        public final ChannelUID magnet;
+        public final ChannelUID motion;
+        public final ChannelUID motionCount;
+        public final ChannelUID pitch;
+        public final ChannelUID roll;
+
+        public Slot(ThingUID thingUID, int number) {
+            this.number = number;
+            String prefix = "beacon" + number;
+            propertyName = prefix + "Name";
+            rssi = new ChannelUID(thingUID, prefix + "-rssi");
+            distance = new ChannelUID(thingUID, prefix + "-distance");
+            mac = new ChannelUID(thingUID, prefix + "-mac");
+            battery = new ChannelUID(thingUID, prefix + "-battery");
+            lowBattery = new ChannelUID(thingUID, prefix + "-lowBattery");
+            name = new ChannelUID(thingUID, prefix + "-name");
+            temperature = new ChannelUID(thingUID, prefix + "-temperature");
+            humidity = new ChannelUID(thingUID, prefix + "-humidity");
+            magnet = new ChannelUID(thingUID, prefix + "-magnet");
+            motion = new ChannelUID(thingUID, prefix + "-motion");
+            motionCount = new ChannelUID(thingUID, prefix + "-motionCount");
+            pitch = new ChannelUID(thingUID, prefix + "-pitch");
+            roll = new ChannelUID(thingUID, prefix + "-roll");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ChannelStateCache} remembers the last state published per channel so
+ * unchanged values are not sent to the event bus again. Numeric channels can have
+ * a deadband: changes smaller than it (in the channel's unit, metres for locations)
+ * are suppressed. A refresh interval republishes unchanged states periodically.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class ChannelStateCache {
+
+    private final Logger logger = LoggerFactory.getLogger(ChannelStateCache.class);
+
+    private final Map<String, Double> deadbands;
+    private final long refreshIntervalMs;
+    private final Map<String, PublishedState> published = new ConcurrentHashMap<>();
+
+    /**
+     * Last published state of a channel
+     */
+    private static class PublishedState {
+        final State state;
+        final long publishedAt;
+
+        PublishedState(State state, long publishedAt) {
+            this.state = state;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    /**
+     * @param deadbands per-channel deadbands, e.g. "obdCoolantTemp=0.5,altitude=1"
+     * @param refreshIntervalMs republish unchanged states after this time, 0 to disable
+     */
+    public ChannelStateCache(@Nullable String deadbands, long refreshIntervalMs) {
+        this.deadbands = parseDeadbands(deadbands);
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /**
+     * Check whether a state must be published and remember it if so.
+     *
+     * @return true if the state differs from the last published one (beyond the deadband)
+     *         or the refresh interval has elapsed
+     */
+    public boolean shouldPublish(String channelId, State state, long now) {
+        boolean[] publish = new boolean[1];
+        published.compute(channelId, (id, last) -> {
+            if (last == null || isRefreshDue(last, now) || differs(id, last.state, state)) {
+                publish[0] = true;
+                return new PublishedState(state, now);
+            }
+            return last;
+        });
+        return publish[0];
+    }
+
+    /**
+     * Forget all published states, so the next update of every channel is published.
+     */
+    public void clear() {
+        published.clear();
+    }
+
+    private boolean isRefreshDue(PublishedState last, long now) {
+        return refreshIntervalMs > 0 && now - last.publishedAt >= refreshIntervalMs;
+    }
+
+    private boolean differs(String channelId, State last, State state) {
+        if (last.equals(state)) {
+            return false;
+        }
+        Double deadband = deadbands.get(channelId);
+        if (deadband == null) {
+            return true;
+        }
+        double delta = difference(last, state);
+        return Double.isNaN(delta) || delta >= deadband;
+    }
+
+    private static double difference(State last, State state) {
+        if (last instanceof QuantityType<?> lastQuantity && state instanceof QuantityType<?> quantity) {
+            QuantityType<?> converted = quantity.toUnit(lastQuantity.getUnit());
+            return converted != null ? Math.abs(converted.doubleValue() - lastQuantity.doubleValue()) : Double.NaN;
+        }
+        if (last instanceof PointType lastPoint && state instanceof PointType point) {
+            return lastPoint.distanceFrom(point).doubleValue();
+        }
+        if (last instanceof DecimalType lastDecimal && state instanceof DecimalType decimal) {
+            return Math.abs(decimal.doubleValue() - lastDecimal.doubleValue());
+        }
+        return Double.NaN;
+    }
+
+    private Map<String, Double> parseDeadbands(@Nullable String spec) {
+        Map<String, Double> result = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2 || parts[0].isBlank()) {
+                logger.warn("Ignoring invalid deadband '{}', expected channelId=value", entry.trim());
+                continue;
+            }
+            try {
+                result.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid deadband '{}', expected channelId=value", entry.trim());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.Configuration;
+import org.openhab.core.library.unit.ImperialUnits;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+
+/**
+ * The {@link DeviceSettings} is an immutable snapshot of the settings a device handler
+ * needs on every position update, resolved from the thing and bridge configuration.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class DeviceSettings {
+
+    private static final double KNOTS_TO_KMH = 1.852;
+    private static final double KNOTS_TO_MPH = 1.15078;
+
+    /** Factor converting Traccar's knots into {@link #speedUnit} */
+    public final double speedFactor;
+    public final Unit<?> speedUnit;
+    /** Speeds below this (in knots) are published as 0 */
+    public final double speedThresholdKnots;
+    /** Beacon transmit power at 1 m in dBm */
+    public final int beaconTxPower;
+    /** Beacon path loss exponent */
+    public final double beaconPathLoss;
+
+    private DeviceSettings(double speedFactor, Unit<?> speedUnit, double speedThresholdKnots, int beaconTxPower,
+            double beaconPathLoss) {
+        this.speedFactor = speedFactor;
+        this.speedUnit = speedUnit;
+        this.speedThresholdKnots = speedThresholdKnots;
+        this.beaconTxPower = beaconTxPower;
+        this.beaconPathLoss = beaconPathLoss;
+    }
+
+    /**
+     * Resolve the settings. Beacon settings on the thing take precedence over the bridge's.
+     *
+     * @param serverConfig bridge configuration, or null if the bridge is not available
+     * @param thingConfig device thing configuration
+     */
+    public static DeviceSettings of(@Nullable TraccarServerConfiguration serverConfig, Configuration thingConfig) {
+        TraccarServerConfiguration server = serverConfig != null ? serverConfig : new TraccarServerConfiguration();
+
+        double speedFactor;
+        Unit<?> speedUnit;
+        switch (server.speedUnit) {
+            case "mph":
+                speedFactor = KNOTS_TO_MPH;
+                speedUnit = ImperialUnits.MILES_PER_HOUR;
+                break;
+            case "knots":
+                speedFactor = 1.0;
+                speedUnit = Units.KNOT;
+                break;
+            case "kmh":
+            default:
+                speedFactor = KNOTS_TO_KMH;
+                speedUnit = SIUnits.KILOMETRE_PER_HOUR;
+                break;
+        }
+
+        Object txPower = thingConfig.get("beaconTxPower");
+        Object pathLoss = thingConfig.get("beaconPathLoss");
+        return new DeviceSettings(speedFactor, speedUnit, server.speedThreshold / KNOTS_TO_KMH,
+                txPower instanceof Number number ? number.intValue() : server.beaconTxPower,
+                pathLoss instanceof Number number ? number.doubleValue() : server.beaconPathLoss);
+    }
+}
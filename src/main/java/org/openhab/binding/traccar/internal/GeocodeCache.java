@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link GeocodeCache} stores geocoded addresses in a fixed grid of cells about
+ * one cache distance wide, keyed by the packed cell coordinates. A lookup only checks
+ * the cells around the position, so its cost does not grow with the cache size.
+ * Candidates are pre-filtered with the equirectangular approximation before the
+ * exact haversine distance is computed.
+ * <p>
+ * The cache holds at most a configured number of entries; the least recently used
+ * one is evicted when it is full, and entries older than the TTL are dropped.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class GeocodeCache {
+
+    private static final double EARTH_RADIUS_M = 6371000;
+    private static final double METERS_PER_DEGREE = EARTH_RADIUS_M * Math.PI / 180;
+    // Keeps the number of longitude cells searched bounded close to the poles
+    private static final double MIN_COS_LATITUDE = 0.01;
+    // The equirectangular distance differs from haversine by far less than this at cache distances
+    private static final double PRE_FILTER_MARGIN = 1.01;
+
+    private final double maxDistance;
+    private final double cellSizeDegrees;
+    private final int maxEntries;
+    private final long ttlMs;
+
+    // Both structures are guarded by this cache's lock
+    private final Map<Long, Entry[]> cells = new HashMap<>();
+    // Access-ordered: the first entry is the least recently used one
+    private final LinkedHashMap<Entry, Long> recency = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * A cached address with its coordinates.
+     */
+    public static class Entry {
+        final String address;
+        final double latitude;
+        final double longitude;
+        final long timestamp;
+
+        Entry(String address, double latitude, double longitude, long timestamp) {
+            this.address = address;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.timestamp = timestamp;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+    }
+
+    /**
+     * @param maxDistance distance in meters within which a cached address is reused
+     * @param maxEntries maximum number of cached addresses
+     * @param ttlMs time after which a cached address is looked up again, 0 to keep it
+     */
+    public GeocodeCache(double maxDistance, int maxEntries, long ttlMs) {
+        this.maxDistance = Math.max(maxDistance, 1);
+        this.cellSizeDegrees = this.maxDistance / METERS_PER_DEGREE;
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Find the nearest cached address within the cache distance.
+     *
+     * @return the cached entry, or null if there is none close enough
+     */
+    public synchronized @Nullable Entry find(double latitude, double longitude) {
+        Entry nearest = nearest(latitude, longitude);
+        if (nearest != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return nearest;
+    }
+
+    /**
+     * Find the nearest cached address like {@link #find(double, double)}, without counting
+     * a hit or miss, e.g. to check again for a lookup that was already counted.
+     *
+     * @return the cached entry, or null if there is none close enough
+     */
+    public synchronized @Nullable Entry peek(double latitude, double longitude) {
+        return nearest(latitude, longitude);
+    }
+
+    private @Nullable Entry nearest(double latitude, double longitude) {
+        long now = System.currentTimeMillis();
+        int latCell = latitudeCell(latitude);
+        int lonCell = longitudeCell(longitude);
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        // Longitude degrees shrink towards the poles, so more cells cover the same distance
+        int lonRange = (int) Math.ceil(1 / Math.max(cosLatitude, MIN_COS_LATITUDE));
+
+        double preFilterLimit = maxDistance * PRE_FILTER_MARGIN;
+        preFilterLimit *= preFilterLimit;
+
+        Entry nearest = null;
+        double nearestDistance = maxDistance;
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -lonRange; dLon <= lonRange; dLon++) {
+                long key = cellKey(latCell + dLat, lonCell + dLon);
+                Entry[] entries = cells.get(key);
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries) {
+                    if (isExpired(entry, now)) {
+                        remove(key, entry);
+                        evictions++;
+                        continue;
+                    }
+                    double dy = (entry.latitude - latitude) * METERS_PER_DEGREE;
+                    double dx = (entry.longitude - longitude) * METERS_PER_DEGREE * cosLatitude;
+                    if (dx * dx + dy * dy > preFilterLimit) {
+                        continue;
+                    }
+                    double distance = distance(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= nearestDistance) {
+                        nearest = entry;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        if (nearest != null) {
+            recency.get(nearest); // mark as recently used
+        }
+        return nearest;
+    }
+
+    /**
+     * Add a geocoded address, evicting the least recently used one if the cache is full.
+     *
+     * @return the added entry
+     */
+    public Entry put(double latitude, double longitude, String address) {
+        Entry entry = new Entry(address, latitude, longitude, System.currentTimeMillis());
+        add(entry);
+        return entry;
+    }
+
+    /**
+     * Add an address geocoded earlier, e.g. when loading a stored cache. Expired addresses are skipped.
+     */
+    public void restore(double latitude, double longitude, String address, long timestamp) {
+        Entry entry = new Entry(address, latitude, longitude, timestamp);
+        if (!isExpired(entry, System.currentTimeMillis())) {
+            add(entry);
+        }
+    }
+
+    /**
+     * Get all cached addresses, least recently used first.
+     */
+    public synchronized List<Entry> entries() {
+        return new ArrayList<>(recency.keySet());
+    }
+
+    private synchronized void add(Entry entry) {
+        long key = cellOf(entry.latitude, entry.longitude);
+        cells.merge(key, new Entry[] { entry }, (existing, added) -> {
+            Entry[] merged = Arrays.copyOf(existing, existing.length + 1);
+            merged[existing.length] = entry;
+            return merged;
+        });
+        recency.put(entry, key);
+
+        Iterator<Map.Entry<Entry, Long>> eldest = recency.entrySet().iterator();
+        while (recency.size() > maxEntries && eldest.hasNext()) {
+            Map.Entry<Entry, Long> evicted = eldest.next();
+            eldest.remove();
+            removeFromCell(evicted.getValue(), evicted.getKey());
+            evictions++;
+        }
+    }
+
+    public synchronized int size() {
+        return recency.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized void clear() {
+        cells.clear();
+        recency.clear();
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlMs > 0 && now - entry.timestamp > ttlMs;
+    }
+
+    private void remove(long key, Entry entry) {
+        recency.remove(entry);
+        removeFromCell(key, entry);
+    }
+
+    private void removeFromCell(long key, Entry entry) {
+        Entry[] entries = cells.get(key);
+        if (entries == null) {
+            return;
+        }
+        if (entries.length == 1) {
+            cells.remove(key);
+            return;
+        }
+        Entry[] remaining = new Entry[entries.length - 1];
+        int i = 0;
+        for (Entry candidate : entries) {
+            if (candidate != entry && i < remaining.length) {
+                remaining[i++] = candidate;
+            }
+        }
+        cells.put(key, remaining);
+    }
+
+    /**
+     * Get the grid cell of a position. Positions in the same cell are at most about
+     * one and a half cache distances apart.
+     */
+    public long cellOf(double latitude, double longitude) {
+        return cellKey(latitudeCell(latitude), longitudeCell(longitude));
+    }
+
+    private int latitudeCell(double latitude) {
+        return (int) Math.floor(latitude / cellSizeDegrees);
+    }
+
+    private int longitudeCell(double longitude) {
+        return (int) Math.floor(longitude / cellSizeDegrees);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    /**
+     * Distance between two coordinates using the haversine formula.
+     *
+     * @return distance in meters
+     */
+    static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_M * c;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link GeocodeCacheStore} keeps the geocoded addresses of a {@link GeocodeCache}
+ * in a local file, so the cache is warm after a restart. New addresses are appended
+ * as they are geocoded; the file is rewritten with the current cache content after
+ * loading and once it has grown well beyond it, dropping evicted and expired addresses.
+ * <p>
+ * The file starts with a magic number and a format version, followed by records of
+ * latitude, longitude, timestamp (all binary) and the address (modified UTF-8).
+ * A truncated last record, e.g. after a crash, is ignored.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class GeocodeCacheStore {
+
+    private static final int MAGIC = 0x54524743; // "TRGC"
+    private static final int VERSION = 1;
+    // Compact once the file holds twice as many records as the cache, but not for small caches
+    private static final int MIN_COMPACTION_RECORDS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(GeocodeCacheStore.class);
+
+    private final Path file;
+
+    // Guarded by this store's lock
+    private @Nullable DataOutputStream out;
+    private int appendedRecords;
+    // Nothing is written unless the file was read completely, so a failed load cannot lose it
+    private boolean loaded;
+
+    /**
+     * @param file the cache file; its directory is created when needed
+     */
+    public GeocodeCacheStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the stored addresses into the cache. A missing, foreign or outdated file is ignored.
+     * The file is then rewritten, so appends never follow a damaged record.
+     */
+    public synchronized void load(GeocodeCache cache) {
+        if (!Files.isRegularFile(file)) {
+            loaded = true;
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.debug("Ignoring geocoding cache file {} with unknown format", file);
+            } else {
+                while (true) {
+                    double latitude = in.readDouble();
+                    double longitude = in.readDouble();
+                    long timestamp = in.readLong();
+                    String address = in.readUTF();
+                    cache.restore(latitude, longitude, address, timestamp);
+                }
+            }
+        } catch (EOFException e) {
+            // End of file, or a record cut short by a crash
+        } catch (IOException e) {
+            logger.warn("Failed to read geocoding cache file {}: {}", file, e.getMessage());
+            return;
+        }
+        loaded = true;
+        logger.debug("Loaded {} cached addresses from {}", cache.size(), file);
+        compact(cache);
+    }
+
+    /**
+     * Append a newly geocoded address, compacting the file if it holds many stale records.
+     */
+    public synchronized void append(GeocodeCache.Entry entry, GeocodeCache cache) {
+        if (!loaded) {
+            return;
+        }
+        if (appendedRecords >= Math.max(MIN_COMPACTION_RECORDS, 2 * cache.size())) {
+            compact(cache);
+            return;
+        }
+        try {
+            DataOutputStream stream = out;
+            if (stream == null) {
+                stream = openForAppend();
+                out = stream;
+            }
+            write(stream, entry);
+            stream.flush();
+            appendedRecords++;
+        } catch (IOException e) {
+            logger.warn("Failed to write geocoding cache file {}: {}", file, e.getMessage());
+            closeStream();
+        }
+    }
+
+    /**
+     * Rewrite the file with the current cache content.
+     */
+    public synchronized void compact(GeocodeCache cache) {
+        if (!loaded) {
+            return;
+        }
+        closeStream();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int records = 0;
+        try {
+            Files.createDirectories(file.getParent());
+            try (DataOutputStream stream = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                stream.writeInt(MAGIC);
+                stream.writeInt(VERSION);
+                // Least recently used first, so loading restores the same order
+                for (GeocodeCache.Entry entry : cache.entries()) {
+                    write(stream, entry);
+                    records++;
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appendedRecords = records;
+            logger.debug("Compacted geocoding cache file {} to {} addresses", file, records);
+        } catch (IOException e) {
+            logger.warn("Failed to compact geocoding cache file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Close the file. Writes arriving later, e.g. from a lookup still completing, are ignored.
+     */
+    public synchronized void close() {
+        loaded = false;
+        closeStream();
+    }
+
+    private DataOutputStream openForAppend() throws IOException {
+        Files.createDirectories(file.getParent());
+        boolean created = !Files.exists(file);
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (created) {
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+        }
+        return stream;
+    }
+
+    private void write(DataOutputStream stream, GeocodeCache.Entry entry) throws IOException {
+        stream.writeDouble(entry.latitude);
+        stream.writeDouble(entry.longitude);
+        stream.writeLong(entry.timestamp);
+        stream.writeUTF(entry.address);
+    }
+
+    private void closeStream() {
+        DataOutputStream stream = out;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close geocoding cache file {}: {}", file, e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link GeocodingPolicy} decides which positions of a device are reverse geocoded.
+ * Addresses matter where a vehicle stops, not along the road, so a lookup is made when
+ * the device stops, switches its ignition off or enters or leaves a geofence, and while
+ * moving at most every configured distance or interval. The first position and a
+ * position after {@link #reset()} are always geocoded.
+ * <p>
+ * Not thread-safe: it is used on the lane of its device handler.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class GeocodingPolicy {
+
+    private final boolean everyPosition;
+    private final double minDistance;
+    private final long minIntervalMs;
+
+    private boolean geocoded;
+    private boolean moving;
+    private @Nullable Boolean ignition;
+    private boolean eventPending;
+    private double lastLatitude;
+    private double lastLongitude;
+    private long lastTime;
+
+    /**
+     * @param everyPosition geocode every position, ignoring the other settings
+     * @param minDistance distance in meters from the last geocoded position that triggers a lookup, 0 to disable
+     * @param minIntervalMs time since the last lookup that triggers a lookup while moving, 0 to disable
+     */
+    public GeocodingPolicy(boolean everyPosition, double minDistance, long minIntervalMs) {
+        this.everyPosition = everyPosition;
+        this.minDistance = minDistance;
+        this.minIntervalMs = minIntervalMs;
+    }
+
+    /**
+     * Record a geofence entry or exit; the next position is geocoded.
+     */
+    public void geofenceEvent() {
+        eventPending = true;
+    }
+
+    /**
+     * Geocode the next position regardless of the device state, e.g. on REFRESH.
+     */
+    public void reset() {
+        geocoded = false;
+    }
+
+    /**
+     * Decide whether a position is geocoded and record the device state.
+     *
+     * @param latitude latitude of the position
+     * @param longitude longitude of the position
+     * @param moving whether the device reports motion or a speed above the threshold
+     * @param ignition the reported ignition state, or null if the device does not report it
+     * @param now time of the decision in milliseconds
+     * @return true if the address of the position should be looked up
+     */
+    public boolean shouldGeocode(double latitude, double longitude, boolean moving, @Nullable Boolean ignition,
+            long now) {
+        boolean stopped = this.moving && !moving;
+        boolean ignitionOff = Boolean.TRUE.equals(this.ignition) && Boolean.FALSE.equals(ignition);
+        this.moving = moving;
+        if (ignition != null) {
+            this.ignition = ignition;
+        }
+
+        boolean geocode = everyPosition || !geocoded || stopped || ignitionOff || eventPending
+                || (minDistance > 0
+                        && GeocodeCache.distance(lastLatitude, lastLongitude, latitude, longitude) >= minDistance)
+                || (moving && minIntervalMs > 0 && now - lastTime >= minIntervalMs);
+        if (geocode) {
+            geocoded = true;
+            eventPending = false;
+            lastLatitude = latitude;
+            lastLongitude = longitude;
+            lastTime = now;
+        }
+        return geocode;
+    }
+}
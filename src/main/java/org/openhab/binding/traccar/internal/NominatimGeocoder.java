@@ -13,69 +13,100 @@
 package org.openhab.binding.traccar.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Nominatim reverse geocoding service with caching and rate limiting.
+ * One instance is shared by all devices of a bridge, so the cache and the
+ * request rate are global. Concurrent lookups of nearby positions are merged
+ * into one request. Asynchronous lookups run on a dedicated thread, so waiting for
+ * the rate limit or the server never holds up position updates. Requests share one
+ * HTTP client, so connections and TLS sessions are reused between lookups.
  *
  * @author Nanna Agesen - Initial contribution
  */
 @NonNullByDefault
-public class NominatimGeocoder {
+public class NominatimGeocoder implements ReverseGeocoder {
+
+    private static final String USER_AGENT = "openHAB-Traccar-Binding/1.0";
 
     private final Logger logger = LoggerFactory.getLogger(NominatimGeocoder.class);
-    private final Gson gson = new Gson();
 
     private final String serverUrl;
     private final String language;
-    private final int cacheDistance;
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+
+    // Grid-indexed addresses, reused within the cache distance
+    private final GeocodeCache addressCache;
 
-    // Cache structure: "lat,lon" -> CachedAddress
-    private final Map<String, CachedAddress> addressCache = new ConcurrentHashMap<>();
+    // Upstream request statistics
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong totalLatencyMs = new AtomicLong();
 
     // Rate limiting: OSM Nominatim requires max 1 request per second
-    private long lastRequestTime = 0;
-    private static final long MIN_REQUEST_INTERVAL_MS = 1000;
+    private final TokenBucket rateLimiter;
 
-    /**
-     * Cached address entry with coordinates
-     */
-    private static class CachedAddress {
-        final String address;
-        final double latitude;
-        final double longitude;
-        final long timestamp;
-
-        CachedAddress(String address, double latitude, double longitude) {
-            this.address = address;
-            this.latitude = latitude;
-            this.longitude = longitude;
-            this.timestamp = System.currentTimeMillis();
-        }
-    }
+    // Lookups in progress by grid cell; other devices in the same cell wait for the result
+    private final Map<Long, CompletableFuture<@Nullable String>> pendingLookups = new ConcurrentHashMap<>();
+
+    private final @Nullable GeocodeCacheStore store;
+
+    private final ExecutorService executor = Executors
+            .newSingleThreadExecutor(new NamedThreadFactory("traccar-geocoder"));
 
     /**
      * Create a Nominatim geocoder instance
      *
-     * @param serverUrl Base URL of Nominatim server (e.g., "https://nominatim.openstreetmap.org")
-     * @param language Language code for address results (e.g., "en", "da", "de")
-     * @param cacheDistance Minimum distance in meters to trigger new geocoding request
+     * @param config Server configuration with the Nominatim server (e.g., "https://nominatim.openstreetmap.org"),
+     *            address language, HTTP, rate limit and cache settings
+     * @param store File keeping the cache across restarts, or null to keep it in memory only
      */
-    public NominatimGeocoder(String serverUrl, String language, int cacheDistance) {
-        this.serverUrl = serverUrl.endsWith("/") ? serverUrl.substring(0, serverUrl.length() - 1) : serverUrl;
-        this.language = language;
-        this.cacheDistance = cacheDistance;
+    public NominatimGeocoder(TraccarServerConfiguration config, @Nullable GeocodeCacheStore store) {
+        String url = config.nominatimUrl;
+        this.serverUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.language = config.nominatimLanguage;
+        this.httpClient = HttpClient.newBuilder()
+                .version(config.nominatimHttp2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(config.nominatimConnectTimeout)).build();
+        this.readTimeout = Duration.ofSeconds(config.nominatimReadTimeout);
+        this.addressCache = new GeocodeCache(config.geocodingCacheDistance, config.geocodingCacheMaxEntries,
+                TimeUnit.HOURS.toMillis(config.geocodingCacheTtl));
+        this.rateLimiter = new TokenBucket(config.nominatimRequestRate, 1);
+        this.store = store;
+        if (store != null) {
+            // Queued before any lookup, so lookups see the loaded cache
+            executor.execute(() -> store.load(addressCache));
+        }
     }
 
     /**
@@ -85,38 +116,101 @@ public class NominatimGeocoder {
      * @param longitude Longitude coordinate
      * @return Address string, or null if geocoding fails
      */
+    @Override
     public @Nullable String getAddress(double latitude, double longitude) {
-        // Check cache first
-        CachedAddress cached = findInCache(latitude, longitude);
+        String cached = getCachedAddress(latitude, longitude);
+        return cached != null ? cached : fetch(latitude, longitude);
+    }
+
+    /**
+     * Get address for coordinates without blocking. Cached addresses are returned at once;
+     * other lookups are queued on the geocoder thread.
+     *
+     * @param latitude Latitude coordinate
+     * @param longitude Longitude coordinate
+     * @param wanted checked before the request is sent; returning false drops a superseded lookup
+     * @return future completing with the address, or null if geocoding failed or was dropped
+     */
+    @Override
+    public CompletableFuture<@Nullable String> getAddressAsync(double latitude, double longitude,
+            BooleanSupplier wanted) {
+        String cached = getCachedAddress(latitude, longitude);
         if (cached != null) {
-            logger.debug("Using cached address for {},{}: {}", latitude, longitude, cached.address);
-            return cached.address;
+            return CompletableFuture.completedFuture(cached);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> wanted.getAsBoolean() ? fetch(latitude, longitude) : null,
+                    executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null); // disposed
         }
+    }
 
-        // Rate limiting
-        synchronized (this) {
-            long now = System.currentTimeMillis();
-            long timeSinceLastRequest = now - lastRequestTime;
-            if (timeSinceLastRequest < MIN_REQUEST_INTERVAL_MS) {
-                long sleepTime = MIN_REQUEST_INTERVAL_MS - timeSinceLastRequest;
+    private @Nullable String getCachedAddress(double latitude, double longitude) {
+        GeocodeCache.Entry cached = addressCache.find(latitude, longitude);
+        if (cached != null) {
+            logger.debug("Using cached address for {},{}: {}", latitude, longitude, cached.getAddress());
+            return cached.getAddress();
+        }
+        return null;
+    }
+
+    /**
+     * Request an address that was not cached, sharing the request with lookups of nearby positions.
+     * The cache is checked again first, without counting, as an earlier lookup may have added the address
+     * while this one was queued.
+     */
+    private @Nullable String fetch(double latitude, double longitude) {
+        long cell = addressCache.cellOf(latitude, longitude);
+        while (true) {
+            GeocodeCache.Entry cached = addressCache.peek(latitude, longitude);
+            if (cached != null) {
+                logger.debug("Using address cached meanwhile for {},{}: {}", latitude, longitude,
+                        cached.getAddress());
+                return cached.getAddress();
+            }
+
+            CompletableFuture<@Nullable String> lookup = new CompletableFuture<>();
+            CompletableFuture<@Nullable String> pending = pendingLookups.putIfAbsent(cell, lookup);
+            if (pending == null) {
+                String address = null;
                 try {
-                    logger.debug("Rate limiting: waiting {}ms", sleepTime);
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return null;
+                    address = lookup(latitude, longitude);
+                    return address;
+                } finally {
+                    pendingLookups.remove(cell, lookup);
+                    lookup.complete(address);
                 }
             }
-            lastRequestTime = System.currentTimeMillis();
+
+            // A nearby position is being geocoded: wait for it, then check the cache again
+            if (pending.join() == null) {
+                return null;
+            }
+        }
+    }
+
+    private @Nullable String lookup(double latitude, double longitude) {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
 
         // Make API request
+        long start = System.currentTimeMillis();
         try {
             String address = reverseGeocode(latitude, longitude);
+            requests.incrementAndGet();
+            totalLatencyMs.addAndGet(System.currentTimeMillis() - start);
             if (address != null) {
                 // Cache the result
-                String cacheKey = String.format("%.6f,%.6f", latitude, longitude);
-                addressCache.put(cacheKey, new CachedAddress(address, latitude, longitude));
+                GeocodeCache.Entry entry = addressCache.put(latitude, longitude, address);
+                GeocodeCacheStore cacheStore = store;
+                if (cacheStore != null) {
+                    cacheStore.append(entry, addressCache);
+                }
                 logger.debug("Geocoded {},{} -> {}", latitude, longitude, address);
             }
             return address;
@@ -126,35 +220,6 @@ public class NominatimGeocoder {
         }
     }
 
-    /**
-     * Find cached address within cache distance
-     */
-    private @Nullable CachedAddress findInCache(double latitude, double longitude) {
-        for (CachedAddress cached : addressCache.values()) {
-            double distance = calculateDistance(latitude, longitude, cached.latitude, cached.longitude);
-            if (distance <= cacheDistance) {
-                // Cache hit within distance threshold
-                return cached;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Calculate distance between two coordinates using Haversine formula
-     *
-     * @return Distance in meters
-     */
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371000; // Earth radius in meters
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
-                * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
-
     /**
      * Make reverse geocoding request to Nominatim
      */
@@ -165,25 +230,21 @@ public class NominatimGeocoder {
 
         logger.debug("Nominatim request: {}", url);
 
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).header("User-Agent", USER_AGENT)
+                .header("Accept-Encoding", "gzip").timeout(readTimeout).GET().build();
         try {
-            // Use java.net.http.HttpClient for HTTP requests
-            java.net.http.HttpClient client = java.net.http.HttpClient.newBuilder()
-                    .connectTimeout(java.time.Duration.ofSeconds(10)).build();
-
-            java.net.http.HttpRequest request = java.net.http.HttpRequest.newBuilder().uri(java.net.URI.create(url))
-                    .header("User-Agent", "openHAB-Traccar-Binding/1.0").timeout(java.time.Duration.ofSeconds(10)).GET()
-                    .build();
-
-            java.net.http.HttpResponse<String> response = client.send(request,
-                    java.net.http.HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                JsonObject json = gson.fromJson(response.body(), JsonObject.class);
-                if (json != null && json.has("address")) {
-                    return formatAddress(json.getAsJsonObject("address"));
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            InputStream body = response.body();
+            if (response.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent()) {
+                body = new GZIPInputStream(body);
+            }
+            try (InputStream in = body) {
+                if (response.statusCode() == 200) {
+                    Map<String, String> components = readAddressComponents(in);
+                    return components != null ? AddressFormatter.format(components) : null;
                 }
-            } else {
-                logger.warn("Nominatim returned status {}: {}", response.statusCode(), response.body());
+                logger.warn("Nominatim returned status {}", response.statusCode());
+                in.transferTo(OutputStream.nullOutputStream()); // let the connection be reused
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -194,102 +255,87 @@ public class NominatimGeocoder {
     }
 
     /**
-     * Format address components into readable string
-     * Format: Street number, Postcode City, Province, Country
+     * Read the "address" object of a reverse geocoding response while it is received.
+     * The whole response is consumed so the connection can be reused.
      */
-    private @Nullable String formatAddress(JsonObject addressComponents) {
-        StringBuilder formatted = new StringBuilder();
-
-        // Street name and number
-        String road = getComponent(addressComponents, "road");
-        String houseNumber = getComponent(addressComponents, "house_number");
-        if (road != null) {
-            formatted.append(road);
-            if (houseNumber != null) {
-                formatted.append(" ").append(houseNumber);
-            }
-        }
-
-        // Postal code
-        String postcode = getComponent(addressComponents, "postcode");
-
-        // City (try multiple fields in order of preference)
-        String city = getComponent(addressComponents, "city");
-        if (city == null) {
-            city = getComponent(addressComponents, "town");
-        }
-        if (city == null) {
-            city = getComponent(addressComponents, "village");
-        }
-        if (city == null) {
-            city = getComponent(addressComponents, "municipality");
+    private @Nullable Map<String, String> readAddressComponents(InputStream in) throws IOException {
+        Map<String, String> components = null;
+        JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
         }
-
-        // Add postcode and city together
-        if (postcode != null || city != null) {
-            if (formatted.length() > 0) {
-                formatted.append(", ");
-            }
-            if (postcode != null) {
-                formatted.append(postcode);
-                if (city != null) {
-                    formatted.append(" ").append(city);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("address".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                components = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = reader.nextName();
+                    JsonToken token = reader.peek();
+                    if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                        components.put(key, reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
                 }
-            } else if (city != null) {
-                formatted.append(city);
+                reader.endObject();
+            } else {
+                reader.skipValue();
             }
         }
+        reader.endObject();
+        return components;
+    }
 
-        // Province/State
-        String province = getComponent(addressComponents, "state");
-        if (province == null) {
-            province = getComponent(addressComponents, "province");
-        }
-        if (province == null) {
-            province = getComponent(addressComponents, "region");
-        }
-
-        if (province != null) {
-            if (formatted.length() > 0) {
-                formatted.append(", ");
-            }
-            formatted.append(province);
-        }
+    /**
+     * Clear the address cache
+     */
+    public void clearCache() {
+        addressCache.clear();
+        logger.debug("Address cache cleared");
+    }
 
-        // Country
-        String country = getComponent(addressComponents, "country");
-        if (country != null) {
-            if (formatted.length() > 0) {
-                formatted.append(", ");
-            }
-            formatted.append(country);
+    /**
+     * Stop the geocoder thread, save the cache and close its file. Queued lookups are dropped.
+     */
+    @Override
+    public void dispose() {
+        executor.shutdownNow();
+        httpClient.shutdownNow();
+        GeocodeCacheStore cacheStore = store;
+        if (cacheStore != null) {
+            cacheStore.compact(addressCache);
+            cacheStore.close();
         }
+    }
 
-        return formatted.length() > 0 ? formatted.toString() : null;
+    /**
+     * Get the address cache, e.g. for its statistics
+     */
+    public GeocodeCache getCache() {
+        return addressCache;
     }
 
     /**
-     * Get address component from JSON, returns null if not present
+     * Get the number of successful requests sent to Nominatim
      */
-    private @Nullable String getComponent(JsonObject addressComponents, String key) {
-        if (addressComponents.has(key) && !addressComponents.get(key).isJsonNull()) {
-            return addressComponents.get(key).getAsString();
-        }
-        return null;
+    public long getRequestCount() {
+        return requests.get();
     }
 
     /**
-     * Clear the address cache
+     * Get the summed latency of all successful Nominatim requests in milliseconds
      */
-    public void clearCache() {
-        addressCache.clear();
-        logger.debug("Address cache cleared");
+    public long getTotalLatencyMs() {
+        return totalLatencyMs.get();
     }
 
     /**
      * Get cache statistics
      */
     public String getCacheStats() {
-        return String.format("Cache size: %d entries", addressCache.size());
+        return String.format("Cache size: %d entries, %d hits, %d misses, %d evictions", addressCache.size(),
+                addressCache.getHits(), addressCache.getMisses(), addressCache.getEvictions());
     }
 }
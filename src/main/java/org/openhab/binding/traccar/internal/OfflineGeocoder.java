@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link OfflineGeocoder} answers reverse geocoding lookups from a local dataset,
+ * without any network requests. The dataset is a CSV (or tab separated) file with a
+ * header line: {@code lat} and {@code lon} columns, and address components named as
+ * in Nominatim's address details ({@code road}, {@code house_number}, {@code postcode},
+ * {@code city}, {@code state}, {@code country}, ...). Addresses are formatted once
+ * while loading; lookups search a KD-tree stored in primitive arrays.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class OfflineGeocoder implements ReverseGeocoder {
+
+    private static final double METERS_PER_DEGREE = 6371000 * Math.PI / 180;
+
+    private final Logger logger = LoggerFactory.getLogger(OfflineGeocoder.class);
+
+    private final Path dataset;
+    private final double maxDistance;
+
+    // Null until the dataset has been loaded
+    private volatile @Nullable PlaceTree places;
+    private @Nullable Thread loader;
+    private volatile boolean disposed;
+
+    /**
+     * @param dataset CSV file with the places
+     * @param maxDistance distance in meters beyond which the nearest place is not used
+     */
+    public OfflineGeocoder(Path dataset, double maxDistance) {
+        this.dataset = dataset;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Load the dataset on a dedicated virtual thread, so parsing a large file does not occupy
+     * a shared scheduler thread. Lookups return null until it has been loaded.
+     */
+    public synchronized void startLoading() {
+        if (!disposed && loader == null) {
+            loader = Thread.ofVirtual().name("OH-traccar-offline-geocoder").start(this::load);
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        try {
+            PlaceTree tree = PlaceTree.read(dataset);
+            synchronized (this) {
+                if (disposed) {
+                    return;
+                }
+                places = tree;
+            }
+            logger.info("Loaded {} places for offline geocoding from {} in {} ms", tree.size(), dataset,
+                    System.currentTimeMillis() - start);
+        } catch (InterruptedIOException e) {
+            logger.debug("Loading offline geocoding dataset {} cancelled", dataset);
+        } catch (IOException e) {
+            logger.warn("Failed to load offline geocoding dataset {}: {}", dataset, e.getMessage());
+        }
+    }
+
+    @Override
+    public @Nullable String getAddress(double latitude, double longitude) {
+        PlaceTree tree = places;
+        return tree != null ? tree.nearest(latitude, longitude, maxDistance) : null;
+    }
+
+    @Override
+    public CompletableFuture<@Nullable String> getAddressAsync(double latitude, double longitude,
+            BooleanSupplier wanted) {
+        // A lookup takes microseconds; there is nothing to gain from another thread
+        return CompletableFuture.completedFuture(getAddress(latitude, longitude));
+    }
+
+    /**
+     * Cancel a load in progress and drop the dataset.
+     */
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+        Thread thread = loader;
+        if (thread != null) {
+            thread.interrupt();
+            loader = null;
+        }
+        places = null;
+    }
+
+    /**
+     * Places in an implicit KD-tree: the node of a range is at its middle index, with
+     * smaller coordinates on the left. Levels split alternately by latitude and longitude.
+     */
+    private static class PlaceTree {
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final String[] addresses;
+
+        private PlaceTree(double[] latitudes, double[] longitudes, String[] addresses) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.addresses = addresses;
+        }
+
+        int size() {
+            return addresses.length;
+        }
+
+        static PlaceTree read(Path file) throws IOException {
+            int count = 0;
+            double[] latitudes = new double[1024];
+            double[] longitudes = new double[1024];
+            String[] addresses = new String[1024];
+            // Many places share an address (e.g. a postcode area); keep one copy of each
+            Map<String, String> distinct = new HashMap<>();
+
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                if (header == null) {
+                    throw new IOException("empty file");
+                }
+                char separator = header.indexOf('\t') >= 0 ? '\t' : ',';
+                List<String> columns = split(header, separator);
+                int latColumn = -1;
+                int lonColumn = -1;
+                for (int i = 0; i < columns.size(); i++) {
+                    String column = columns.get(i).trim().toLowerCase(Locale.ROOT);
+                    columns.set(i, column);
+                    switch (column) {
+                        case "lat", "latitude" -> latColumn = i;
+                        case "lon", "lng", "longitude" -> lonColumn = i;
+                        default -> {
+                        }
+                    }
+                }
+                if (latColumn < 0 || lonColumn < 0) {
+                    throw new IOException("header has no lat and lon columns");
+                }
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("cancelled");
+                    }
+                    List<String> fields = split(line, separator);
+                    if (fields.size() <= Math.max(latColumn, lonColumn)) {
+                        continue;
+                    }
+                    Map<String, String> components = new HashMap<>();
+                    for (int i = 0; i < fields.size() && i < columns.size(); i++) {
+                        String value = fields.get(i).trim();
+                        if (i != latColumn && i != lonColumn && !value.isEmpty()) {
+                            components.put(columns.get(i), value);
+                        }
+                    }
+                    String address = AddressFormatter.format(components);
+                    if (address == null) {
+                        continue;
+                    }
+                    try {
+                        double latitude = Double.parseDouble(fields.get(latColumn).trim());
+                        double longitude = Double.parseDouble(fields.get(lonColumn).trim());
+                        if (count == addresses.length) {
+                            latitudes = Arrays.copyOf(latitudes, count * 2);
+                            longitudes = Arrays.copyOf(longitudes, count * 2);
+                            addresses = Arrays.copyOf(addresses, count * 2);
+                        }
+                        latitudes[count] = latitude;
+                        longitudes[count] = longitude;
+                        addresses[count] = distinct.computeIfAbsent(address, a -> a);
+                        count++;
+                    } catch (NumberFormatException e) {
+                        // Skip lines without valid coordinates
+                    }
+                }
+            }
+
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            build(order, latitudes, longitudes, 0, count, 0);
+
+            double[] treeLatitudes = new double[count];
+            double[] treeLongitudes = new double[count];
+            String[] treeAddresses = new String[count];
+            for (int i = 0; i < count; i++) {
+                treeLatitudes[i] = latitudes[order[i]];
+                treeLongitudes[i] = longitudes[order[i]];
+                treeAddresses[i] = addresses[order[i]];
+            }
+            return new PlaceTree(treeLatitudes, treeLongitudes, treeAddresses);
+        }
+
+        private static void build(int[] order, double[] latitudes, double[] longitudes, int from, int to, int depth) {
+            if (to - from <= 1) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            select(order, depth % 2 == 0 ? latitudes : longitudes, from, to - 1, mid);
+            build(order, latitudes, longitudes, from, mid, depth + 1);
+            build(order, latitudes, longitudes, mid + 1, to, depth + 1);
+        }
+
+        /**
+         * Reorder {@code order[lo..hi]} so that index k holds the k-th smallest key,
+         * with smaller or equal keys before it and larger or equal keys after it.
+         */
+        private static void select(int[] order, double[] keys, int lo, int hi, int k) {
+            while (hi > lo) {
+                double pivot = keys[order[(lo + hi) >>> 1]];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (keys[order[i]] < pivot) {
+                        i++;
+                    }
+                    while (keys[order[j]] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int swap = order[i];
+                        order[i] = order[j];
+                        order[j] = swap;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Find the address of the nearest place within the maximum distance.
+         */
+        @Nullable
+        String nearest(double latitude, double longitude, double maxDistance) {
+            Search search = new Search(latitude, longitude, maxDistance);
+            search(search, 0, addresses.length, 0);
+            int best = search.best;
+            if (best < 0
+                    || GeocodeCache.distance(latitude, longitude, latitudes[best], longitudes[best]) > maxDistance) {
+                return null;
+            }
+            return addresses[best];
+        }
+
+        private void search(Search search, int from, int to, int depth) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            double dy = (latitudes[mid] - search.latitude) * METERS_PER_DEGREE;
+            double dx = (longitudes[mid] - search.longitude) * search.metersPerLonDegree;
+            double distance = dx * dx + dy * dy;
+            if (distance < search.bestDistance) {
+                search.best = mid;
+                search.bestDistance = distance;
+            }
+
+            // Distance from the query to the splitting plane, a lower bound for the far side
+            double split = depth % 2 == 0 ? -dy : -dx;
+            boolean left = split < 0;
+            search(search, left ? from : mid + 1, left ? mid : to, depth + 1);
+            if (split * split < search.bestDistance) {
+                search(search, left ? mid + 1 : from, left ? to : mid, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * State of one nearest-place search. Distances are squared equirectangular
+     * distances in square meters.
+     */
+    private static class Search {
+        final double latitude;
+        final double longitude;
+        final double metersPerLonDegree;
+        int best = -1;
+        double bestDistance;
+
+        Search(double latitude, double longitude, double maxDistance) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.metersPerLonDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+            // Slightly wider than the limit; the final check uses the exact distance
+            double limit = maxDistance * 1.01;
+            this.bestDistance = limit * limit;
+        }
+    }
+
+    /**
+     * Split a CSV line. Fields may be enclosed in double quotes, with "" for a quote.
+     */
+    private static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.traccar.internal.dto.Position;
+
+/**
+ * The {@link PositionCoalescer} collapses bursts of positions of one device into the newest one.
+ * A submitted position waits in a single slot until the device's lane takes it; positions
+ * arriving in the meantime replace it if their fix time is newer, and the stale ones are
+ * counted instead of being published. The slot is only freed when the lane applies the
+ * position, so a burst queued behind a slow update is applied once.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class PositionCoalescer {
+
+    private final Executor lane;
+    private final Consumer<Position> consumer;
+    private final AtomicReference<@Nullable Position> pending = new AtomicReference<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * @param lane lane of the device applying the positions
+     * @param consumer receives the newest position, on the lane
+     */
+    public PositionCoalescer(Executor lane, Consumer<Position> consumer) {
+        this.lane = lane;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Submit a position for delivery.
+     */
+    public void submit(Position position) {
+        Position previous = pending.getAndAccumulate(position,
+                (current, added) -> current == null || isNewer(position, current) ? position : current);
+        if (previous == null) {
+            lane.execute(this::deliver);
+        } else {
+            // A delivery is already queued on the lane and will take the newest position
+            coalesced.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop the pending position, if any.
+     */
+    public void clear() {
+        pending.set(null);
+    }
+
+    /**
+     * Get the number of positions dropped because a newer one was pending.
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    private void deliver() {
+        Position position = pending.getAndSet(null);
+        if (position != null) {
+            consumer.accept(position);
+        }
+    }
+
+    private static boolean isNewer(Position candidate, Position current) {
+        if (candidate.fixTime != current.fixTime) {
+            return candidate.fixTime > current.fixTime;
+        }
+        return candidate.id >= current.id;
+    }
+}
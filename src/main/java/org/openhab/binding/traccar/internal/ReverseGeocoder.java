@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ReverseGeocoder} resolves coordinates to a street address. One instance
+ * is shared by all devices of a bridge; the implementation is selected by the
+ * bridge's {@code geocoder} parameter.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public interface ReverseGeocoder {
+
+    /**
+     * Get address for coordinates, blocking until it is known.
+     *
+     * @param latitude Latitude coordinate
+     * @param longitude Longitude coordinate
+     * @return Address string, or null if geocoding fails
+     */
+    @Nullable
+    String getAddress(double latitude, double longitude);
+
+    /**
+     * Get address for coordinates without blocking the caller.
+     *
+     * @param latitude Latitude coordinate
+     * @param longitude Longitude coordinate
+     * @param wanted checked before a slow lookup starts; returning false drops a superseded lookup
+     * @return future completing with the address, or null if geocoding failed or was dropped
+     */
+    CompletableFuture<@Nullable String> getAddressAsync(double latitude, double longitude, BooleanSupplier wanted);
+
+    /**
+     * Release the resources of the geocoder.
+     */
+    void dispose();
+}
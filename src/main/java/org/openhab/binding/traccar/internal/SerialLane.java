@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SerialLane} is a mailbox that runs submitted tasks one at a time in
+ * submission order. Tasks of one lane never overlap, so state confined to the lane
+ * needs no locks; different lanes run in parallel on virtual threads.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class SerialLane implements Executor {
+
+    private static final ExecutorService VIRTUAL_THREADS = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("OH-traccar-lane-", 0).factory());
+
+    private final Logger logger = LoggerFactory.getLogger(SerialLane.class);
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    /**
+     * Create a lane running on virtual threads.
+     */
+    public SerialLane() {
+        this(VIRTUAL_THREADS);
+    }
+
+    public SerialLane(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            return;
+        }
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Drop the queued tasks and any task submitted until the lane is reopened.
+     * A task that is already running completes.
+     */
+    public void close() {
+        closed = true;
+        tasks.clear();
+    }
+
+    /**
+     * Accept tasks again after {@link #close()}.
+     */
+    public void open() {
+        closed = false;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while (!closed && (task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Error processing device update: {}", e.getMessage(), e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // A task may have been added after the last poll but before the flag was cleared
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link TokenBucket} limits the rate of requests to an external service.
+ * Tokens are refilled continuously at a fixed rate up to the bucket capacity; each
+ * request takes one token and waits until one is available. Waiting callers reserve
+ * their token in order, so the rate holds for any number of threads.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerMs;
+
+    // Guarded by this bucket's lock; may become negative while callers wait for reserved tokens
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param ratePerSecond tokens added per second
+     * @param capacity maximum number of tokens, i.e. the largest burst allowed
+     */
+    public TokenBucket(double ratePerSecond, int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.tokensPerMs = Math.max(ratePerSecond, 0.001) / 1000;
+        this.tokens = this.capacity;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    /**
+     * Take a token, waiting until one is available.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitMs = reserve();
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
+    }
+
+    private synchronized long reserve() {
+        long now = System.currentTimeMillis();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMs);
+        lastRefill = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerMs);
+    }
+}
@@ -12,70 +12,262 @@
  */
 package org.openhab.binding.traccar.internal;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
-import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.FormContentProvider;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.util.Fields;
+import org.openhab.binding.traccar.internal.dto.Device;
+import org.openhab.binding.traccar.internal.dto.Position;
+import org.openhab.binding.traccar.internal.dto.TraccarTypeAdapters;
+import org.openhab.binding.traccar.internal.dto.TraccarTypeAdapters.Decoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 /**
  * The {@link TraccarApiClient} communicates with the Traccar REST API.
+ * All requests are sent with Jetty's asynchronous API; the blocking methods
+ * are thin wrappers for callers that need a result inline (e.g. discovery).
  *
  * @author Nanna Agesen - Initial contribution
  */
 @NonNullByDefault
 public class TraccarApiClient {
 
+    public static final String SESSION_COOKIE = "JSESSIONID";
+
+    private static final int REQUEST_TIMEOUT_S = 10;
+    // /api/positions for a large fleet easily exceeds Jetty's 2 MB default
+    private static final int MAX_RESPONSE_SIZE = 16 * 1024 * 1024;
+    // Results of shared requests are handed to callers arriving shortly after completion
+    private static final long SHARED_RESULT_REUSE_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(TraccarApiClient.class);
-    private final Gson gson = new Gson();
 
     private final HttpClient httpClient;
     private final String baseUrl;
-    private final String authHeader;
+    private final String username;
+    private final String password;
+    private final Decoder<Position> positionDecoder;
+
+    // Session shared by all requests of this bridge (and the WebSocket)
+    private volatile @Nullable String sessionId;
+    private @Nullable CompletableFuture<Boolean> pendingLogin;
+
+    private final Map<String, SharedRequest<?>> sharedRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Status and body of a completed request.
+     */
+    private static class ApiResponse {
+        final int status;
+        final InputStream content;
+        final List<String> cookies;
+
+        ApiResponse(int status, InputStream content, List<String> cookies) {
+            this.status = status;
+            this.content = content;
+            this.cookies = cookies;
+        }
+    }
+
+    /**
+     * A request whose result is shared by all callers asking for the same resource.
+     */
+    private static class SharedRequest<T> {
+        final CompletableFuture<T> future;
+        volatile long completedAt = Long.MAX_VALUE;
+
+        SharedRequest(CompletableFuture<T> future) {
+            this.future = future;
+        }
 
-    public TraccarApiClient(HttpClient httpClient, String baseUrl, String username, String password) {
+        boolean isReusable(long now) {
+            return !future.isDone() || now - completedAt < SHARED_RESULT_REUSE_MS;
+        }
+    }
+
+    public TraccarApiClient(HttpClient httpClient, String baseUrl, String username, String password,
+            Decoder<Position> positionDecoder) {
         this.httpClient = httpClient;
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-
-        String credentials = username + ":" + password;
-        this.authHeader = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        this.username = username;
+        this.password = password;
+        this.positionDecoder = positionDecoder;
     }
 
     /**
-     * Authenticate with the Traccar server.
+     * Authenticate with the Traccar server by creating a session (POST /api/session).
+     * All subsequent requests reuse the session cookie instead of sending credentials,
+     * so the server only verifies the password once per session. Concurrent calls share
+     * one login request.
      *
-     * @return true if authentication was successful
+     * @return future completing with true if authentication was successful
      */
-    public boolean authenticate() {
-        try {
-            ContentResponse response = httpClient.newRequest(baseUrl + "/api/server").method(HttpMethod.GET)
-                    .header("Authorization", authHeader).timeout(10, TimeUnit.SECONDS).send();
+    public synchronized CompletableFuture<Boolean> authenticateAsync() {
+        CompletableFuture<Boolean> login = pendingLogin;
+        if (login != null && !login.isDone()) {
+            return login;
+        }
 
-            if (response.getStatus() == HttpStatus.OK_200) {
-                logger.debug("Successfully authenticated with Traccar server");
-                return true;
-            } else {
-                logger.warn("Authentication failed with status: {}", response.getStatus());
+        Fields fields = new Fields();
+        fields.put("email", username);
+        fields.put("password", password);
+        Request request = httpClient.newRequest(baseUrl + "/api/session").method(HttpMethod.POST)
+                .content(new FormContentProvider(fields)).timeout(REQUEST_TIMEOUT_S, TimeUnit.SECONDS);
+
+        login = exchange(request).thenApply(response -> {
+            if (response.status != HttpStatus.OK_200) {
+                logger.warn("Authentication failed with status: {}", response.status);
+                sessionId = null;
                 return false;
             }
-        } catch (InterruptedException | TimeoutException | ExecutionException e) {
+            String newSessionId = extractSessionCookie(response);
+            if (newSessionId == null) {
+                logger.warn("Authentication failed: Traccar server did not return a session cookie");
+                sessionId = null;
+                return false;
+            }
+            sessionId = newSessionId;
+            logger.debug("Successfully authenticated with Traccar server");
+            return true;
+        }).exceptionally(e -> {
             logger.warn("Failed to authenticate: {}", e.getMessage());
             return false;
+        });
+        pendingLogin = login;
+        return login;
+    }
+
+    private @Nullable String extractSessionCookie(ApiResponse response) {
+        URI uri = URI.create(baseUrl);
+        String value = null;
+        for (String header : response.cookies) {
+            try {
+                for (HttpCookie cookie : HttpCookie.parse(header)) {
+                    if (SESSION_COOKIE.equals(cookie.getName())) {
+                        value = cookie.getValue();
+                        // The session is attached explicitly to each request; keep it out of the
+                        // shared client's cookie store so bridges with different users don't clash
+                        httpClient.getCookieStore().remove(uri, cookie);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                logger.debug("Ignoring malformed cookie header: {}", header);
+            }
         }
+        return value;
+    }
+
+    /**
+     * Get the current session ID, or null if not authenticated.
+     */
+    public @Nullable String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Create a new session if the given (expired) session is still the current one.
+     * Concurrent callers that hit the same expired session trigger only one login.
+     */
+    private synchronized CompletableFuture<Boolean> reauthenticate(@Nullable String expiredSessionId) {
+        String current = sessionId;
+        if (current != null && !current.equals(expiredSessionId)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        logger.debug("Traccar session expired, re-authenticating");
+        return authenticateAsync();
+    }
+
+    /**
+     * Send a GET request with the session cookie, re-authenticating once on 401.
+     */
+    private CompletableFuture<ApiResponse> get(String path, Fields params) {
+        String usedSessionId = sessionId;
+        return exchange(newRequest(path, params, usedSessionId)).thenCompose(response -> {
+            if (response.status != HttpStatus.UNAUTHORIZED_401) {
+                return CompletableFuture.completedFuture(response);
+            }
+            return reauthenticate(usedSessionId).thenCompose(authenticated -> authenticated
+                    ? exchange(newRequest(path, params, sessionId))
+                    : CompletableFuture.completedFuture(response));
+        });
+    }
+
+    private Request newRequest(String path, Fields params, @Nullable String session) {
+        Request request = httpClient.newRequest(baseUrl + path).method(HttpMethod.GET).timeout(REQUEST_TIMEOUT_S,
+                TimeUnit.SECONDS);
+        for (Fields.Field field : params) {
+            for (String value : field.getValues()) {
+                request.param(field.getName(), value);
+            }
+        }
+        if (session != null) {
+            request.cookie(new HttpCookie(SESSION_COOKIE, session));
+        }
+        return request;
+    }
+
+    /**
+     * Send a request without blocking; the future completes on Jetty's client thread.
+     */
+    private CompletableFuture<ApiResponse> exchange(Request request) {
+        CompletableFuture<ApiResponse> future = new CompletableFuture<>();
+        request.send(new BufferingResponseListener(MAX_RESPONSE_SIZE) {
+            @Override
+            public void onComplete(Result result) {
+                if (result.isFailed()) {
+                    future.completeExceptionally(result.getFailure());
+                    return;
+                }
+                Response response = result.getResponse();
+                future.complete(new ApiResponse(response.getStatus(), getContentAsInputStream(),
+                        response.getHeaders().getValuesList(HttpHeader.SET_COOKIE)));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Wait for a future from one of the asynchronous methods, which never complete exceptionally.
+     */
+    private <T> @Nullable T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("Request failed: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Get the WebSocket URI of the Traccar server (/api/socket).
+     */
+    public URI getSocketUri() {
+        String socketUrl = baseUrl.replaceFirst("^http", "ws") + "/api/socket";
+        return URI.create(socketUrl);
     }
 
     /**
@@ -83,101 +275,182 @@ public class TraccarApiClient {
      *
      * @return list of devices
      */
-    public @Nullable List<Map<String, Object>> getDevices() {
-        try {
-            ContentResponse response = httpClient.newRequest(baseUrl + "/api/devices").method(HttpMethod.GET)
-                    .header("Authorization", authHeader).timeout(10, TimeUnit.SECONDS).send();
+    public @Nullable List<Device> getDevices() {
+        return await(getDevicesAsync());
+    }
 
-            if (response.getStatus() == HttpStatus.OK_200) {
-                String content = response.getContentAsString();
-                return gson.fromJson(content, new TypeToken<List<Map<String, Object>>>() {
-                }.getType());
-            } else {
-                logger.warn("Failed to get devices, status: {}", response.getStatus());
-                return null;
+    /**
+     * Asynchronous variant of {@link #getDevices()}.
+     *
+     * @return future completing with the list of devices, or null on failure
+     */
+    public CompletableFuture<@Nullable List<Device>> getDevicesAsync() {
+        return shared("/api/devices", () -> getDevicesAsync(new Fields()));
+    }
+
+    /**
+     * Get the given devices with one request. The returned devices carry the ID of their
+     * latest position, which allows fetching only positions that have changed.
+     *
+     * @param deviceIds IDs of the devices to fetch
+     * @return future completing with the list of devices, or null on failure
+     */
+    public CompletableFuture<@Nullable List<Device>> getDevicesAsync(Collection<Integer> deviceIds) {
+        Fields params = new Fields();
+        deviceIds.forEach(id -> params.add("id", String.valueOf(id)));
+        return getDevicesAsync(params);
+    }
+
+    private CompletableFuture<@Nullable List<Device>> getDevicesAsync(Fields params) {
+        return get("/api/devices", params).thenApply(response -> {
+            if (response.status == HttpStatus.OK_200) {
+                return parseList(response, TraccarTypeAdapters.DEVICE);
             }
-        } catch (InterruptedException | TimeoutException | ExecutionException e) {
+            logger.warn("Failed to get devices, status: {}", response.status);
+            return null;
+        }).exceptionally(e -> {
             logger.debug("Failed to get devices: {}", e.getMessage());
             return null;
-        }
+        });
     }
 
     /**
      * Get the latest position for a specific device.
      *
      * @param deviceId the device ID
-     * @return position data
+     * @return future completing with the position data, or null if not available
      */
-    public @Nullable Map<String, Object> getLatestPosition(int deviceId) {
-        try {
-            ContentResponse response = httpClient.newRequest(baseUrl + "/api/positions").method(HttpMethod.GET)
-                    .param("deviceId", String.valueOf(deviceId)).header("Authorization", authHeader)
-                    .timeout(10, TimeUnit.SECONDS).send();
-
-            if (response.getStatus() == HttpStatus.OK_200) {
-                String content = response.getContentAsString();
-                List<Map<String, Object>> positions = gson.fromJson(content,
-                        new TypeToken<List<Map<String, Object>>>() {
-                        }.getType());
+    public CompletableFuture<@Nullable Position> getLatestPositionAsync(int deviceId) {
+        return shared("/api/positions?deviceId=" + deviceId, () -> fetchLatestPosition(deviceId));
+    }
 
+    private CompletableFuture<@Nullable Position> fetchLatestPosition(int deviceId) {
+        return get("/api/positions", param("deviceId", deviceId)).thenApply(response -> {
+            if (response.status == HttpStatus.OK_200) {
+                List<Position> positions = parseList(response, positionDecoder);
                 if (positions != null && !positions.isEmpty()) {
                     return positions.get(0); // Return the first (latest) position
                 }
             } else {
-                logger.debug("Failed to get position for device {}, status: {}", deviceId, response.getStatus());
+                logger.debug("Failed to get position for device {}, status: {}", deviceId, response.status);
             }
-        } catch (InterruptedException | TimeoutException | ExecutionException e) {
+            return null;
+        }).exceptionally(e -> {
             logger.debug("Failed to get position for device {}: {}", deviceId, e.getMessage());
-        }
-        return null;
+            return null;
+        });
     }
 
     /**
-     * Get geofences for a specific device.
+     * Get the latest position of every device visible to the user in a single request.
+     * Traccar returns the most recent position per device when no time range is given.
      *
-     * @param deviceId the device ID
-     * @return list of geofences
+     * @return future completing with the list of positions, one per device that has reported, or null on failure
      */
-    public @Nullable List<Map<String, Object>> getGeofences(int deviceId) {
-        try {
-            ContentResponse response = httpClient.newRequest(baseUrl + "/api/geofences").method(HttpMethod.GET)
-                    .param("deviceId", String.valueOf(deviceId)).header("Authorization", authHeader)
-                    .timeout(10, TimeUnit.SECONDS).send();
-
-            if (response.getStatus() == HttpStatus.OK_200) {
-                String content = response.getContentAsString();
-                return gson.fromJson(content, new TypeToken<List<Map<String, Object>>>() {
-                }.getType());
-            } else {
-                logger.debug("Failed to get geofences for device {}, status: {}", deviceId, response.getStatus());
+    public CompletableFuture<@Nullable List<Position>> getLatestPositionsAsync() {
+        return shared("/api/positions", () -> getPositionsAsync(new Fields()));
+    }
+
+    /**
+     * Get positions by their IDs with one request.
+     *
+     * @param positionIds IDs of the positions to fetch
+     * @return future completing with the list of positions, or null on failure
+     */
+    public CompletableFuture<@Nullable List<Position>> getPositionsAsync(Collection<Long> positionIds) {
+        Fields params = new Fields();
+        positionIds.forEach(id -> params.add("id", String.valueOf(id)));
+        return getPositionsAsync(params);
+    }
+
+    private CompletableFuture<@Nullable List<Position>> getPositionsAsync(Fields params) {
+        return get("/api/positions", params).thenApply(response -> {
+            if (response.status == HttpStatus.OK_200) {
+                return parseList(response, positionDecoder);
             }
-        } catch (InterruptedException | TimeoutException | ExecutionException e) {
-            logger.debug("Failed to get geofences for device {}: {}", deviceId, e.getMessage());
-        }
-        return null;
+            logger.debug("Failed to get positions, status: {}", response.status);
+            return null;
+        }).exceptionally(e -> {
+            logger.debug("Failed to get positions: {}", e.getMessage());
+            return null;
+        });
     }
 
     /**
      * Get device information including status.
      *
      * @param deviceId the device ID
-     * @return device data
+     * @return future completing with the device data, or null on failure
      */
-    public @Nullable Map<String, Object> getDevice(int deviceId) {
-        try {
-            ContentResponse response = httpClient.newRequest(baseUrl + "/api/devices/" + deviceId)
-                    .method(HttpMethod.GET).header("Authorization", authHeader).timeout(10, TimeUnit.SECONDS).send();
+    public CompletableFuture<@Nullable Device> getDeviceAsync(int deviceId) {
+        return shared("/api/devices/" + deviceId, () -> fetchDevice(deviceId));
+    }
 
-            if (response.getStatus() == HttpStatus.OK_200) {
-                String content = response.getContentAsString();
-                return gson.fromJson(content, new TypeToken<Map<String, Object>>() {
-                }.getType());
+    private CompletableFuture<@Nullable Device> fetchDevice(int deviceId) {
+        return get("/api/devices/" + deviceId, new Fields()).thenApply(response -> {
+            if (response.status == HttpStatus.OK_200) {
+                try {
+                    return TraccarTypeAdapters.read(response.content, TraccarTypeAdapters.DEVICE);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Failed to parse device {}: {}", deviceId, e.getMessage());
+                }
             } else {
-                logger.debug("Failed to get device {}, status: {}", deviceId, response.getStatus());
+                logger.debug("Failed to get device {}, status: {}", deviceId, response.status);
             }
-        } catch (InterruptedException | TimeoutException | ExecutionException e) {
+            return null;
+        }).exceptionally(e -> {
             logger.debug("Failed to get device {}: {}", deviceId, e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Single-flight: concurrent callers asking for the same resource share one HTTP exchange,
+     * and callers arriving within {@link #SHARED_RESULT_REUSE_MS} after it completed get the
+     * same result. A burst of REFRESH commands for one device thus costs one request.
+     *
+     * @param key path and query identifying the resource
+     * @param request starts the request if none can be shared
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> shared(String key, Supplier<CompletableFuture<T>> request) {
+        long now = System.currentTimeMillis();
+        SharedRequest<?> existing = sharedRequests.get(key);
+        if (existing != null && existing.isReusable(now)) {
+            return (CompletableFuture<T>) existing.future;
+        }
+        SharedRequest<T> created = new SharedRequest<>(new CompletableFuture<>());
+        SharedRequest<?> current = sharedRequests.compute(key,
+                (k, previous) -> previous != null && previous.isReusable(now) ? previous : created);
+        if (current != created) {
+            return (CompletableFuture<T>) current.future;
+        }
+        request.get().whenComplete((result, error) -> {
+            created.completedAt = System.currentTimeMillis();
+            if (error != null) {
+                created.future.completeExceptionally(error);
+            } else {
+                created.future.complete(result);
+            }
+        });
+        return created.future;
+    }
+
+    private static Fields param(String name, int value) {
+        Fields params = new Fields();
+        params.put(name, String.valueOf(value));
+        return params;
+    }
+
+    /**
+     * Decode a JSON array straight from the response body.
+     */
+    private <T> @Nullable List<T> parseList(ApiResponse response, Decoder<T> decoder) {
+        try {
+            return TraccarTypeAdapters.readList(response.content, decoder);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Failed to parse response: {}", e.getMessage());
+            return null;
         }
-        return null;
     }
 }
@@ -26,7 +26,7 @@ import org.openhab.core.thing.ThingTypeUID;
 @NonNullByDefault
 public class TraccarBindingConstants {
 
-    private static final String BINDING_ID = "traccar";
+    public static final String BINDING_ID = "traccar";
 
     // List of all Thing Type UIDs
     public static final ThingTypeUID THING_TYPE_SERVER = new ThingTypeUID(BINDING_ID, "server");
@@ -34,6 +34,15 @@ public class TraccarBindingConstants {
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Set.of(THING_TYPE_SERVER, THING_TYPE_DEVICE);
 
+    // Bridge channels
+    public static final String CHANNEL_WEBHOOK_QUEUE_DEPTH = "webhookQueueDepth";
+    public static final String CHANNEL_COALESCED_POSITIONS = "coalescedPositions";
+    public static final String CHANNEL_GEOCODING_CACHE_SIZE = "geocodingCacheSize";
+    public static final String CHANNEL_GEOCODING_CACHE_HITS = "geocodingCacheHits";
+    public static final String CHANNEL_GEOCODING_CACHE_MISSES = "geocodingCacheMisses";
+    public static final String CHANNEL_GEOCODING_CACHE_EVICTIONS = "geocodingCacheEvictions";
+    public static final String CHANNEL_GEOCODING_LATENCY = "geocodingLatency";
+
     // List of all Channel ids
     public static final String CHANNEL_GEOFENCE_EVENT = "geofenceEvent";
     public static final String CHANNEL_GEOFENCE_ID = "geofenceId";
@@ -58,6 +67,8 @@ public class TraccarBindingConstants {
     public static final String CHANNEL_DISTANCE = "distance";
     public static final String CHANNEL_ACTIVITY = "activity";
     public static final String CHANNEL_PROTOCOL = "protocol";
+    public static final String CHANNEL_DUPLICATE_POSITIONS = "duplicatePositions";
+    public static final String CHANNEL_OUT_OF_ORDER_POSITIONS = "outOfOrderPositions";
 
     // OBD-II Channels (Teltonika FMM920 with Bluetooth OBD-II dongle)
     public static final String CHANNEL_OBD_DTC_COUNT = "obdDtcCount";
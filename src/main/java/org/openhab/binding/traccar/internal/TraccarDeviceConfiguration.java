@@ -20,4 +20,10 @@ package org.openhab.binding.traccar.internal;
 public class TraccarDeviceConfiguration {
 
     public int deviceId;
+    public String stateDeadbands = ""; // e.g. "obdCoolantTemp=0.5,altitude=1"
+    public int stateRefreshInterval = 0; // seconds, republish unchanged states; 0 = only on change
+    public String attributeMappings = ""; // e.g. "io9:analogInput:mV,io72:dallasTemp:°C:0.1"
+    public String geocodingPolicy = "events"; // events (stop, ignition off, geofence, distance/interval) or always
+    public int geocodingDistance = 1000; // meters from the last geocoded position; 0 = disabled
+    public int geocodingInterval = 300; // seconds between lookups while moving; 0 = disabled
 }
@@ -15,13 +15,26 @@ package org.openhab.binding.traccar.internal;
 import static org.openhab.binding.traccar.internal.TraccarBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
-import javax.measure.Unit;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.traccar.internal.dto.Device;
+import org.openhab.binding.traccar.internal.dto.Event;
+import org.openhab.binding.traccar.internal.dto.Geofence;
+import org.openhab.binding.traccar.internal.dto.Position;
+import org.openhab.binding.traccar.internal.dto.WebhookPayload;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
@@ -29,19 +42,21 @@ import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.library.types.PointType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
-import org.openhab.core.library.unit.ImperialUnits;
 import org.openhab.core.library.unit.MetricPrefix;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.Bridge;
+import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
+import org.openhab.core.thing.ThingStatusInfo;
 import org.openhab.core.thing.binding.BaseThingHandler;
 import org.openhab.core.thing.binding.BridgeHandler;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
+import org.openhab.core.types.State;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,12 +69,46 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class TraccarDeviceHandler extends BaseThingHandler {
 
+    private static final int DEFAULT_BEACON_SLOTS = 4;
+    private static final Pattern BEACON_MAC_PARAMETER = Pattern.compile("beacon(\\d+)Mac");
+    private static final Pattern BEACON_CHANNEL = Pattern.compile("beacon(\\d+)-.+");
+
     private final Logger logger = LoggerFactory.getLogger(TraccarDeviceHandler.class);
 
     private @Nullable TraccarDeviceConfiguration config;
+    // All updates of this device run on this lane, so the state below needs no locking
+    private final SerialLane lane = new SerialLane();
+    // Bursts of positions waiting for the lane are collapsed into the newest one
+    private final PositionCoalescer positionCoalescer = new PositionCoalescer(lane, this::updatePositionChannels);
     private final Map<String, Integer> macToBeaconSlot = new HashMap<>();
-    private final Map<Integer, String> beaconSlotToName = new HashMap<>();
-    private @Nullable NominatimGeocoder geocoder;
+
+    // Precomputed beacon keys: tags reported by the device and the slots they are routed to
+    private final List<BeaconKeys.Tag> beaconTags = new ArrayList<>();
+    private BeaconKeys.Tag nextBeaconTag = new BeaconKeys.Tag(1);
+    private BeaconKeys.Slot[] beaconSlots = new BeaconKeys.Slot[0];
+    private @Nullable String[] beaconNames = new String[0];
+    private volatile ChannelStateCache stateCache = new ChannelStateCache(null, 0);
+    private volatile DeviceSettings settings = DeviceSettings.of(null, new Configuration());
+
+    // Linked channel IDs; conversion work for other channels is skipped
+    private final Set<String> linkedChannels = ConcurrentHashMap.newKeySet();
+
+    // Replaced on (re)initialization and read on the lane and geocoder threads
+    private volatile AttributeMapper attributeMapper = new AttributeMapper(null);
+    private volatile GeocodingPolicy geocodingPolicy = new GeocodingPolicy(true, 0, 0);
+    private final Predicate<String> linkedFilter = this::linked;
+    private final BiConsumer<String, State> statePublisher = this::updateState;
+
+    // Last applied position, to drop duplicates (poll + webhook) and late buffered positions
+    private long lastPositionId;
+    private long lastFixTime;
+    private long duplicatePositions;
+    private long outOfOrderPositions;
+    // Sequence of address lookups; read by the geocoder thread to drop superseded ones
+    private volatile long addressRequest;
+
+    // REFRESH of many channels at once is answered by one update
+    private volatile CompletableFuture<Void> pendingRefresh = CompletableFuture.completedFuture(null);
 
     public TraccarDeviceHandler(Thing thing) {
         super(thing);
@@ -68,13 +117,37 @@ public class TraccarDeviceHandler extends BaseThingHandler {
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
-            updatePosition();
+            refresh();
         }
     }
 
+    private synchronized void refresh() {
+        if (!pendingRefresh.isDone()) {
+            return; // the update in flight refreshes this channel too
+        }
+        lane.execute(() -> {
+            stateCache.clear();
+            geocodingPolicy.reset();
+            lastPositionId = 0; // let the same position be applied again
+        });
+        pendingRefresh = updatePosition();
+    }
+
     @Override
     public void initialize() {
+        lane.open();
         config = getConfigAs(TraccarDeviceConfiguration.class);
+        stateCache = new ChannelStateCache(config.stateDeadbands, config.stateRefreshInterval * 1000L);
+        attributeMapper = new AttributeMapper(config.attributeMappings);
+        geocodingPolicy = new GeocodingPolicy("always".equals(config.geocodingPolicy), config.geocodingDistance,
+                config.geocodingInterval * 1000L);
+        refreshSettings();
+        linkedChannels.clear();
+        for (Channel channel : getThing().getChannels()) {
+            if (isLinked(channel.getUID())) {
+                linkedChannels.add(channel.getUID().getId());
+            }
+        }
 
         Bridge bridge = getBridge();
         if (bridge == null) {
@@ -88,35 +161,59 @@ public class TraccarDeviceHandler extends BaseThingHandler {
             return;
         }
 
+        // The device ID or attribute mappings may have changed with the configuration
+        ((TraccarServerHandler) bridgeHandler).registerDevice(this);
+
         updateStatus(ThingStatus.UNKNOWN);
         scheduler.execute(this::connect);
     }
 
+    @Override
+    public void dispose() {
+        // Queued updates, pending positions and address lookups in flight are dropped;
+        // initialize() reopens the lane when the thing is reconfigured
+        lane.close();
+        positionCoalescer.clear();
+        addressRequest++;
+        super.dispose();
+    }
+
+    @Override
+    public void bridgeStatusChanged(ThingStatusInfo bridgeStatusInfo) {
+        if (bridgeStatusInfo.getStatus() == ThingStatus.ONLINE) {
+            // The bridge may have been reinitialized with a changed configuration
+            refreshSettings();
+        }
+        super.bridgeStatusChanged(bridgeStatusInfo);
+    }
+
+    /**
+     * Resolve the settings snapshot from the thing and bridge configuration. Called on
+     * (re)initialization, which includes thing configuration updates, and when the bridge
+     * comes online.
+     */
+    private void refreshSettings() {
+        TraccarServerHandler serverHandler = getServerHandler();
+        settings = DeviceSettings.of(serverHandler != null ? serverHandler.getConfiguration() : null,
+                getThing().getConfiguration());
+    }
+
     private void connect() {
         Bridge bridge = getBridge();
         if (bridge != null && bridge.getStatus() == ThingStatus.ONLINE) {
-            // Initialize Nominatim geocoder from server configuration
-            TraccarServerHandler serverHandler = (TraccarServerHandler) bridge.getHandler();
-            if (serverHandler != null) {
-                TraccarServerConfiguration serverConfig = serverHandler.getConfiguration();
-                if (serverConfig.useNominatim) {
-                    geocoder = new NominatimGeocoder(serverConfig.nominatimUrl, serverConfig.nominatimLanguage,
-                            serverConfig.geocodingCacheDistance);
-                    logger.info("Nominatim geocoding enabled for device {} (server: {}, language: {})", config.deviceId,
-                            serverConfig.nominatimUrl, serverConfig.nominatimLanguage);
+            // Initialize beacon MAC assignments from configuration, on the lane that owns the beacon state
+            lane.execute(() -> {
+                logger.debug("ABOUT TO INITIALIZE BEACON MAC MAPPINGS FOR DEVICE {}",
+                        config != null ? config.deviceId : "NULL");
+                try {
+                    initializeBeaconKeys();
+                    initializeMacMappingFromConfig();
+                    initializeBeaconNamesFromProperties();
+                    logger.debug("BEACON MAC INITIALIZATION COMPLETED");
+                } catch (Exception e) {
+                    logger.error("===== EXCEPTION during beacon MAC initialization: {} =====", e.getMessage(), e);
                 }
-            }
-
-            // Initialize beacon MAC assignments from configuration
-            logger.debug("ABOUT TO INITIALIZE BEACON MAC MAPPINGS FOR DEVICE {}",
-                    config != null ? config.deviceId : "NULL");
-            try {
-                initializeMacMappingFromConfig();
-                initializeBeaconNamesFromProperties();
-                logger.debug("BEACON MAC INITIALIZATION COMPLETED");
-            } catch (Exception e) {
-                logger.error("===== EXCEPTION during beacon MAC initialization: {} =====", e.getMessage(), e);
-            }
+            });
 
             updateStatus(ThingStatus.ONLINE);
             updatePosition();
@@ -125,45 +222,98 @@ public class TraccarDeviceHandler extends BaseThingHandler {
         }
     }
 
-    public void updatePosition() {
+    /**
+     * Poll device status and latest position. The requests are asynchronous; channel
+     * updates run on the scheduler once both responses have arrived.
+     *
+     * @return future completing when the update has been applied
+     */
+    public CompletableFuture<Void> updatePosition() {
         TraccarDeviceConfiguration configuration = config;
         if (configuration == null) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         Bridge bridge = getBridge();
         if (bridge == null) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         BridgeHandler bridgeHandler = bridge.getHandler();
         if (!(bridgeHandler instanceof TraccarServerHandler serverHandler)) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         TraccarApiClient apiClient = serverHandler.getApiClient();
         if (apiClient == null) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        try {
-            // Get device info for status
-            Map<String, Object> device = apiClient.getDevice(configuration.deviceId);
-            if (device != null) {
-                Object statusObj = device.get("status");
-                if (statusObj instanceof String status) {
-                    updateState(CHANNEL_STATUS, new StringType(status));
-                }
-            }
+        // Get device info for status and position data
+        int deviceId = configuration.deviceId;
+        return apiClient.getDeviceAsync(deviceId)
+                .thenAcceptBothAsync(apiClient.getLatestPositionAsync(deviceId), this::applyPoll, lane)
+                .exceptionally(e -> {
+                    logger.debug("Failed to update position for device {}: {}", deviceId, e.getMessage());
+                    return null;
+                });
+    }
 
-            // Get position data
-            Map<String, Object> position = apiClient.getLatestPosition(configuration.deviceId);
-            if (position != null) {
-                updatePositionChannels(position);
+    /**
+     * Apply device and position data obtained by polling, either per device or
+     * from the bridge's bulk poll.
+     *
+     * @param device device data (for status), or null if not available
+     * @param position latest position, or null if the device has not reported
+     */
+    public void updateFromPoll(@Nullable Device device, @Nullable Position position) {
+        lane.execute(() -> applyPoll(device, position));
+    }
+
+    private void applyPoll(@Nullable Device device, @Nullable Position position) {
+        String status = device != null ? device.status : null;
+        if (status != null) {
+            updateState(CHANNEL_STATUS, new StringType(status));
+            reportStatus(status);
+        }
+
+        if (position != null) {
+            updatePositionChannels(position);
+        }
+    }
+
+    /**
+     * Precompute the beacon keys. The number of slots is the largest of 4, the highest
+     * configured beaconNMac slot and the highest beaconN channel of the thing.
+     */
+    private void initializeBeaconKeys() {
+        int slotCount = DEFAULT_BEACON_SLOTS;
+        for (String key : getThing().getConfiguration().keySet()) {
+            Matcher matcher = BEACON_MAC_PARAMETER.matcher(key);
+            if (matcher.matches()) {
+                slotCount = Math.max(slotCount, Integer.parseInt(matcher.group(1)));
             }
-        } catch (Exception e) {
-            logger.debug("Failed to update position for device {}: {}", configuration.deviceId, e.getMessage());
         }
+        for (Channel channel : getThing().getChannels()) {
+            Matcher matcher = BEACON_CHANNEL.matcher(channel.getUID().getId());
+            if (matcher.matches()) {
+                slotCount = Math.max(slotCount, Integer.parseInt(matcher.group(1)));
+            }
+        }
+
+        BeaconKeys.Slot[] slots = new BeaconKeys.Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new BeaconKeys.Slot(getThing().getUID(), i + 1);
+        }
+        beaconSlots = slots;
+        beaconNames = new String[slotCount];
+
+        beaconTags.clear();
+        for (int i = 1; i <= DEFAULT_BEACON_SLOTS; i++) {
+            beaconTags.add(new BeaconKeys.Tag(i));
+        }
+        nextBeaconTag = new BeaconKeys.Tag(DEFAULT_BEACON_SLOTS + 1);
+        logger.debug("Initialized {} beacon slot(s)", slotCount);
     }
 
     /**
@@ -172,13 +322,14 @@ public class TraccarDeviceHandler extends BaseThingHandler {
      */
     private void initializeMacMappingFromConfig() {
         logger.debug("Initializing beacon MAC mappings from configuration");
-        for (int slot = 1; slot <= 4; slot++) {
-            String paramName = "beacon" + slot + "Mac";
+        macToBeaconSlot.clear();
+        for (BeaconKeys.Slot slot : beaconSlots) {
+            String paramName = "beacon" + slot.number + "Mac";
             Object macObj = getThing().getConfiguration().get(paramName);
-            logger.debug("Beacon slot {} config param '{}' = {}", slot, paramName, macObj);
+            logger.debug("Beacon slot {} config param '{}' = {}", slot.number, paramName, macObj);
             if (macObj instanceof String mac && !mac.isBlank()) {
-                macToBeaconSlot.put(mac.toLowerCase().trim(), slot);
-                logger.debug("Configured beacon MAC {} for slot {}", mac, slot);
+                macToBeaconSlot.put(mac.toLowerCase().trim(), slot.number);
+                logger.debug("Configured beacon MAC {} for slot {}", mac, slot.number);
             }
         }
         logger.debug("Beacon MAC mapping initialized with {} entries", macToBeaconSlot.size());
@@ -190,418 +341,77 @@ public class TraccarDeviceHandler extends BaseThingHandler {
      */
     private void initializeBeaconNamesFromProperties() {
         logger.debug("Initializing beacon names from Thing properties");
-        for (int slot = 1; slot <= 4; slot++) {
-            String propName = "beacon" + slot + "Name";
-            String storedName = getThing().getProperties().get(propName);
+        for (BeaconKeys.Slot slot : beaconSlots) {
+            String storedName = getThing().getProperties().get(slot.propertyName);
             if (storedName != null && !storedName.isBlank()) {
-                beaconSlotToName.put(slot, storedName);
-                logger.debug("Restored beacon {} name: {}", slot, storedName);
+                beaconNames[slot.number - 1] = storedName;
+                logger.debug("Restored beacon {} name: {}", slot.number, storedName);
                 // Update channel with restored name
-                updateState("beacon" + slot + "-name", new StringType(storedName));
+                updateState(slot.name, new StringType(storedName));
             }
         }
-        logger.debug("Beacon name restoration completed with {} entries", beaconSlotToName.size());
     }
 
-    private void updatePositionChannels(Map<String, Object> position) {
+    private void updatePositionChannels(Position position) {
+        if (!acceptPosition(position)) {
+            return;
+        }
+
         // Update position (latitude, longitude, altitude)
-        Object latObj = position.get("latitude");
-        Object lonObj = position.get("longitude");
-        if (latObj instanceof Number && lonObj instanceof Number) {
-            double latitude = ((Number) latObj).doubleValue();
-            double longitude = ((Number) lonObj).doubleValue();
-            Object altObj = position.get("altitude");
-            double altitude = altObj instanceof Number ? ((Number) altObj).doubleValue() : 0.0;
-
-            PointType point = new PointType(new DecimalType(latitude), new DecimalType(longitude),
+        if (linked(CHANNEL_POSITION) && position.hasCoordinates()) {
+            double altitude = Double.isNaN(position.altitude) ? 0.0 : position.altitude;
+            PointType point = new PointType(new DecimalType(position.latitude), new DecimalType(position.longitude),
                     new DecimalType(altitude));
             updateState(CHANNEL_POSITION, point);
         }
 
         // Update speed (Traccar reports in knots, convert to configured unit)
-        Object speedObj = position.get("speed");
-        if (speedObj instanceof Number) {
-            double speedKnots = ((Number) speedObj).doubleValue();
-            double convertedSpeed;
-            Unit<?> speedUnit;
-
-            TraccarServerHandler bridge = (TraccarServerHandler) getBridge().getHandler();
-            String speedUnitConfig = bridge != null ? bridge.getSpeedUnit() : "kmh";
-
-            switch (speedUnitConfig) {
-                case "mph":
-                    convertedSpeed = speedKnots * 1.15078; // knots to mph
-                    speedUnit = ImperialUnits.MILES_PER_HOUR;
-                    break;
-                case "knots":
-                    convertedSpeed = speedKnots; // no conversion
-                    speedUnit = Units.KNOT;
-                    break;
-                case "kmh":
-                default:
-                    convertedSpeed = speedKnots * 1.852; // knots to km/h
-                    speedUnit = SIUnits.KILOMETRE_PER_HOUR;
-                    break;
-            }
+        if (linked(CHANNEL_SPEED) && !Double.isNaN(position.speed)) {
+            DeviceSettings currentSettings = settings;
 
             // Filter GPS noise: speeds below threshold are considered stationary
             // This prevents false motion detection from GPS signal drift and small movements
-            TraccarServerConfiguration serverConfig = bridge != null ? bridge.getConfiguration() : null;
-            double thresholdKmh = serverConfig != null ? serverConfig.speedThreshold : 2.0;
-            double thresholdKnots = thresholdKmh / 1.852; // Convert km/h threshold to knots
-            if (speedKnots < thresholdKnots) {
-                convertedSpeed = 0;
-            }
-
-            updateState(CHANNEL_SPEED, new QuantityType<>(convertedSpeed, speedUnit));
+            double convertedSpeed = position.speed < currentSettings.speedThresholdKnots ? 0
+                    : position.speed * currentSettings.speedFactor;
+            updateState(CHANNEL_SPEED, new QuantityType<>(convertedSpeed, currentSettings.speedUnit));
         }
 
         // Update altitude (elevation)
-        Object altObj = position.get("altitude");
-        if (altObj instanceof Number) {
-            double altitude = ((Number) altObj).doubleValue();
-            updateState(CHANNEL_ALTITUDE, new QuantityType<>(altitude, SIUnits.METRE));
+        if (linked(CHANNEL_ALTITUDE) && !Double.isNaN(position.altitude)) {
+            updateState(CHANNEL_ALTITUDE, new QuantityType<>(position.altitude, SIUnits.METRE));
         }
 
         // Update GPS validity
-        Object validObj = position.get("valid");
-        if (validObj instanceof Boolean valid) {
+        Boolean valid = position.valid;
+        if (linked(CHANNEL_VALID) && valid != null) {
             updateState(CHANNEL_VALID, OnOffType.from(valid));
         }
 
         // Update protocol
-        Object protocolObj = position.get("protocol");
-        String protocol = null;
-        if (protocolObj != null) {
-            protocol = protocolObj.toString();
+        String protocol = position.protocol;
+        if (linked(CHANNEL_PROTOCOL) && protocol != null) {
             updateState(CHANNEL_PROTOCOL, new StringType(protocol));
         }
 
         // Update course (direction/heading)
-        Object courseObj = position.get("course");
-        if (courseObj instanceof Number) {
-            double course = ((Number) courseObj).doubleValue();
-            updateState(CHANNEL_COURSE, new QuantityType<>(course, Units.DEGREE_ANGLE));
+        if (linked(CHANNEL_COURSE) && !Double.isNaN(position.course)) {
+            updateState(CHANNEL_COURSE, new QuantityType<>(position.course, Units.DEGREE_ANGLE));
         }
 
         // Update accuracy
-        Object accuracyObj = position.get("accuracy");
-        if (accuracyObj instanceof Number) {
-            double accuracy = ((Number) accuracyObj).doubleValue();
-            updateState(CHANNEL_ACCURACY, new QuantityType<>(accuracy, SIUnits.METRE));
-        }
-
-        // Update address (use Nominatim if enabled, otherwise use Traccar's address)
-        String address = null;
-        NominatimGeocoder currentGeocoder = geocoder;
-        if (currentGeocoder != null && latObj instanceof Number && lonObj instanceof Number) {
-            // Use Nominatim for reverse geocoding
-            double latitude = ((Number) latObj).doubleValue();
-            double longitude = ((Number) lonObj).doubleValue();
-            address = currentGeocoder.getAddress(latitude, longitude);
-            if (address != null) {
-                logger.debug("Using Nominatim address for device {}: {}", config.deviceId, address);
-            }
-        }
-
-        // Fall back to Traccar's address if Nominatim is disabled or failed
-        if (address == null) {
-            Object addressObj = position.get("address");
-            if (addressObj instanceof String traccarAddress) {
-                address = traccarAddress;
-                logger.debug("Using Traccar address for device {}: {}", config.deviceId, address);
-            }
+        if (linked(CHANNEL_ACCURACY) && !Double.isNaN(position.accuracy)) {
+            updateState(CHANNEL_ACCURACY, new QuantityType<>(position.accuracy, SIUnits.METRE));
         }
 
-        // Update address channel
-        if (address != null) {
-            updateState(CHANNEL_ADDRESS, new StringType(address));
+        // Update address (use the bridge's geocoder if enabled, otherwise Traccar's address)
+        if (linked(CHANNEL_ADDRESS)) {
+            updateAddress(position);
         }
 
-        // Update attributes (batteryLevel, odometer, motion)
-        Object attributesObj = position.get("attributes");
-        if (attributesObj instanceof Map<?, ?>) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> attributes = (Map<String, Object>) attributesObj;
-
-            // Battery level
-            Object batteryObj = attributes.get("batteryLevel");
-            if (batteryObj instanceof Number) {
-                double battery = ((Number) batteryObj).doubleValue();
-                updateState(CHANNEL_BATTERY_LEVEL, new QuantityType<>(battery, Units.PERCENT));
-            }
-
-            // Odometer (device-reported, mainly for OSMand)
-            Object odometerObj = attributes.get("odometer");
-            if (odometerObj instanceof Number) {
-                double odometerMeters = ((Number) odometerObj).doubleValue();
-                updateState(CHANNEL_ODOMETER, new QuantityType<>(odometerMeters, SIUnits.METRE));
-            }
-
-            // Total Distance (Traccar server cumulative distance, all protocols)
-            Object totalDistanceObj = attributes.get("totalDistance");
-            if (totalDistanceObj instanceof Number) {
-                double totalDistanceMeters = ((Number) totalDistanceObj).doubleValue();
-                updateState(CHANNEL_TOTAL_DISTANCE, new QuantityType<>(totalDistanceMeters, SIUnits.METRE));
-            }
-
-            // Motion detection
-            Object motionObj = attributes.get("motion");
-            if (motionObj instanceof Boolean motion) {
-                updateState(CHANNEL_MOTION, OnOffType.from(motion));
-            }
-
-            // Engine hours (in milliseconds from Traccar)
-            Object hoursObj = attributes.get("hours");
-            if (hoursObj instanceof Number) {
-                double hoursMs = ((Number) hoursObj).doubleValue();
-                double hoursValue = hoursMs / 3600000.0; // Convert milliseconds to hours
-                logger.debug("Engine hours: {} ms = {} hours", hoursMs, hoursValue);
-                updateState(CHANNEL_HOURS, new QuantityType<>(hoursValue, Units.HOUR));
-            }
-
-            // Event code (device-specific)
-            Object eventObj = attributes.get("event");
-            if (eventObj instanceof Number) {
-                int eventCode = ((Number) eventObj).intValue();
-                updateState(CHANNEL_EVENT, new DecimalType(eventCode));
-            }
-
-            // Distance (incremental distance since last update)
-            Object distanceObj = attributes.get("distance");
-            if (distanceObj instanceof Number) {
-                double distanceMeters = ((Number) distanceObj).doubleValue();
-                updateState(CHANNEL_DISTANCE, new QuantityType<>(distanceMeters, SIUnits.METRE));
-            }
-
-            // Activity (OSMand-specific activity detection)
-            Object activityObj = attributes.get("activity");
-            if (activityObj != null) {
-                updateState(CHANNEL_ACTIVITY, new StringType(activityObj.toString()));
-            }
-
-            // Ignition status
-            Object ignitionObj = attributes.get("ignition");
-            if (ignitionObj instanceof Boolean) {
-                updateState(CHANNEL_IGNITION, OnOffType.from((Boolean) ignitionObj));
-            }
-
-            // GPS Satellites
-            Object satObj = attributes.get("sat");
-            if (satObj instanceof Number) {
-                int satellites = ((Number) satObj).intValue();
-                updateState(CHANNEL_GPS_SAT, new DecimalType(satellites));
-            }
-
-            // GSM Signal Strength (RSSI)
-            Object rssiObj = attributes.get("rssi");
-            if (rssiObj instanceof Number) {
-                double rssi = ((Number) rssiObj).doubleValue();
-                double signalPercent;
-                if (rssi >= 0 && rssi <= 5) {
-                    // Teltonika bar scale: 0-5 bars, convert to percentage
-                    signalPercent = (rssi / 5.0) * 100.0;
-                } else if (rssi < 0) {
-                    // dBm scale: -113 to -51 dBm
-                    signalPercent = Math.max(0, Math.min(100, 2 * (rssi + 113)));
-                } else {
-                    signalPercent = rssi; // Already percentage
-                }
-                updateState(CHANNEL_GSM_SIGNAL, new QuantityType<>(signalPercent, Units.PERCENT));
-            } else {
-                // Try alternative attribute name "gsm"
-                Object gsmObj = attributes.get("gsm");
-                if (gsmObj instanceof Number) {
-                    double gsm = ((Number) gsmObj).doubleValue();
-                    updateState(CHANNEL_GSM_SIGNAL, new QuantityType<>(gsm, Units.PERCENT));
-                }
-            }
-
-            // GPS Dilution of Precision (DOP) metrics
-            Object pdopObj = attributes.get("pdop");
-            if (pdopObj instanceof Number) {
-                double pdop = ((Number) pdopObj).doubleValue();
-                updateState(CHANNEL_PDOP, new DecimalType(pdop));
-            }
-
-            Object hdopObj = attributes.get("hdop");
-            if (hdopObj instanceof Number) {
-                double hdop = ((Number) hdopObj).doubleValue();
-                updateState(CHANNEL_HDOP, new DecimalType(hdop));
-            }
-
-            // Power and Battery voltages
-            Object powerObj = attributes.get("power");
-            if (powerObj instanceof Number) {
-                double powerVolts = ((Number) powerObj).doubleValue();
-                updateState(CHANNEL_POWER, new QuantityType<>(powerVolts, Units.VOLT));
-            }
-
-            Object batteryObjVolt = attributes.get("battery");
-            if (batteryObjVolt instanceof Number) {
-                double batteryVolts = ((Number) batteryObjVolt).doubleValue();
-                updateState(CHANNEL_BATTERY, new QuantityType<>(batteryVolts, Units.VOLT));
-            }
-
-            // Mobile operator code
-            Object operatorObj = attributes.get("operator");
-            if (operatorObj != null) {
-                String operatorCode;
-                if (operatorObj instanceof Number) {
-                    // Convert to integer to remove decimal point (23801.0 -> 23801)
-                    operatorCode = String.valueOf(((Number) operatorObj).intValue());
-                } else {
-                    operatorCode = operatorObj.toString();
-                }
-                updateState(CHANNEL_OPERATOR, new StringType(operatorCode));
-            }
-
-            // Vehicle Identification Number (VIN)
-            Object vinObj = attributes.get("vin");
-            if (vinObj != null) {
-                updateState(CHANNEL_VIN, new StringType(vinObj.toString()));
-            }
-
-            // Additional Teltonika IO Channels (experimental/unknown purpose)
-            // io42: Varies 84-94 (possibly intake air temperature or another sensor)
-            Object io42Obj = attributes.get("io42");
-            if (io42Obj instanceof Number) {
-                int io42 = ((Number) io42Obj).intValue();
-                updateState(CHANNEL_IO42, new DecimalType(io42));
-            }
-
-            // io49: Typically constant ~5816 (possibly battery voltage in mV)
-            Object io49Obj = attributes.get("io49");
-            if (io49Obj instanceof Number) {
-                int io49 = ((Number) io49Obj).intValue();
-                updateState(CHANNEL_IO49, new DecimalType(io49));
-            }
-
-            // io51: Varies 14000-14200 (possibly alternator voltage in mV)
-            Object io51Obj = attributes.get("io51");
-            if (io51Obj instanceof Number) {
-                int io51 = ((Number) io51Obj).intValue();
-                updateState(CHANNEL_IO51, new DecimalType(io51));
-            }
-
-            // Trip distance (resets)
-            Object tripDistanceObj = attributes.get("distance");
-            if (tripDistanceObj instanceof Number) {
-                double tripDist = ((Number) tripDistanceObj).doubleValue();
-                updateState(CHANNEL_TRIP_DISTANCE, new QuantityType<>(tripDist, SIUnits.METRE));
-            }
-
-            // Teltonika event code (e.g., 36 = OBD-II data update)
-            Object eventCodeObj = attributes.get("event");
-            if (eventCodeObj instanceof Number) {
-                int eventCode = ((Number) eventCodeObj).intValue();
-                updateState(CHANNEL_EVENT_CODE, new DecimalType(eventCode));
-            }
-
-            // OBD-II Trip Meters from ECU
-            // io199: Trip odometer 1 (in meters, convert to km)
-            Object io199Obj = attributes.get("io199");
-            if (io199Obj instanceof Number) {
-                double trip1Meters = ((Number) io199Obj).doubleValue();
-                updateState(CHANNEL_IO199, new QuantityType<>(trip1Meters / 1000.0, MetricPrefix.KILO(SIUnits.METRE)));
-            }
-
-            // io205: Trip odometer 2 (in meters, convert to km)
-            Object io205Obj = attributes.get("io205");
-            if (io205Obj instanceof Number) {
-                double trip2Meters = ((Number) io205Obj).doubleValue();
-                updateState(CHANNEL_IO205, new QuantityType<>(trip2Meters / 1000.0, MetricPrefix.KILO(SIUnits.METRE)));
-            }
-
-            // io389: Total vehicle mileage from ECU (in meters, convert to km)
-            Object io389Obj = attributes.get("io389");
-            if (io389Obj instanceof Number) {
-                double ecuOdometerMeters = ((Number) io389Obj).doubleValue();
-                updateState(CHANNEL_IO389,
-                        new QuantityType<>(ecuOdometerMeters / 1000.0, MetricPrefix.KILO(SIUnits.METRE)));
-            }
-
-            // OBD-II Data (Teltonika FMM920 with Bluetooth OBD-II dongle)
-            // These channels are only populated when an OBD-II dongle is paired and ignition is ON
-
-            // io30: Number of Diagnostic Trouble Codes (DTCs)
-            Object io30Obj = attributes.get("io30");
-            if (io30Obj instanceof Number) {
-                int dtcCount = ((Number) io30Obj).intValue();
-                updateState(CHANNEL_OBD_DTC_COUNT, new DecimalType(dtcCount));
-            }
-
-            // io31: Engine Load [%]
-            Object io31Obj = attributes.get("io31");
-            if (io31Obj instanceof Number) {
-                double engineLoad = ((Number) io31Obj).doubleValue();
-                updateState(CHANNEL_OBD_ENGINE_LOAD, new QuantityType<>(engineLoad, Units.PERCENT));
-            }
-
-            // io32: Coolant Temperature [°C]
-            Object io32Obj = attributes.get("io32");
-            if (io32Obj instanceof Number) {
-                double coolantTemp = ((Number) io32Obj).doubleValue();
-                updateState(CHANNEL_OBD_COOLANT_TEMP, new QuantityType<>(coolantTemp, SIUnits.CELSIUS));
-            }
-
-            // io33: Short Fuel Trim [%]
-            Object io33Obj = attributes.get("io33");
-            if (io33Obj instanceof Number) {
-                double shortFuelTrim = ((Number) io33Obj).doubleValue();
-                updateState(CHANNEL_OBD_SHORT_FUEL_TRIM, new QuantityType<>(shortFuelTrim, Units.PERCENT));
-            }
-
-            // io35: Fuel Pressure [kPa]
-            Object io35Obj = attributes.get("io35");
-            if (io35Obj instanceof Number) {
-                double fuelPressureKpa = ((Number) io35Obj).doubleValue();
-                // Convert kPa to Pa for OpenHAB (1 kPa = 1000 Pa)
-                double fuelPressurePa = fuelPressureKpa * 1000;
-                updateState(CHANNEL_OBD_FUEL_PRESSURE, new QuantityType<>(fuelPressurePa, SIUnits.PASCAL));
-            }
-
-            // io36: Engine RPM (actual RPM from OBD-II)
-            // This appears to be the real RPM value that varies with engine speed
-            Object io36Obj = attributes.get("io36");
-            if (io36Obj instanceof Number) {
-                int rpm = ((Number) io36Obj).intValue();
-                updateState(CHANNEL_OBD_RPM, new DecimalType(rpm));
-            }
-
-            // io37: Engine RPM Reported (standard OBD-II PID, often shows 0)
-            Object io37Obj = attributes.get("io37");
-            if (io37Obj instanceof Number) {
-                int rpmReported = ((Number) io37Obj).intValue();
-                updateState(CHANNEL_OBD_RPM_REPORTED, new DecimalType(rpmReported));
-            }
-
-            // io38: Vehicle Speed from OBD-II [km/h]
-            Object io38Obj = attributes.get("io38");
-            if (io38Obj instanceof Number) {
-                double obdSpeed = ((Number) io38Obj).doubleValue();
-                updateState(CHANNEL_OBD_SPEED, new QuantityType<>(obdSpeed, SIUnits.KILOMETRE_PER_HOUR));
-            }
-
-            // io48: Fuel Level [%] - Inverted (100 - value) because bike reports fuel used, not remaining
-            Object io48Obj = attributes.get("io48");
-            if (io48Obj instanceof Number) {
-                double fuelUsed = ((Number) io48Obj).doubleValue();
-                double fuelRemaining = 100.0 - fuelUsed;
-                updateState(CHANNEL_OBD_FUEL_LEVEL, new QuantityType<>(fuelRemaining, Units.PERCENT));
-            }
-
-            // OEM Odometer (actual vehicle odometer from CAN bus via OBD-II)
-            // This is different from the generic "odometer" field - when OBD-II is active,
-            // the odometer field contains the real vehicle odometer reading from CAN bus
-            // Check if OBD-II data is present (indicated by io30+ attributes)
-            if (io30Obj != null || io31Obj != null) {
-                Object oemOdometerObj = attributes.get("odometer");
-                if (oemOdometerObj instanceof Number) {
-                    double oemOdometerMeters = ((Number) oemOdometerObj).doubleValue();
-                    updateState(CHANNEL_OBD_OEM_ODOMETER, new QuantityType<>(oemOdometerMeters, SIUnits.METRE));
-                }
-            }
+        // Update attribute channels (battery, odometer, motion, OBD-II, Teltonika IO, ...)
+        Map<String, Object> attributes = position.attributes;
+        if (!attributes.isEmpty()) {
+            attributeMapper.apply(attributes, linkedFilter, statePublisher);
 
             // Process Bluetooth Beacon data (Teltonika FMM920 optional accessory)
             // Route beacons by MAC address to consistent slots
@@ -609,8 +419,8 @@ public class TraccarDeviceHandler extends BaseThingHandler {
         }
 
         // Update last update time
-        Object deviceTimeObj = position.get("deviceTime");
-        if (deviceTimeObj instanceof String deviceTime) {
+        String deviceTime = position.deviceTime;
+        if (linked(CHANNEL_LAST_UPDATE) && deviceTime != null) {
             try {
                 ZonedDateTime dateTime = ZonedDateTime.parse(deviceTime);
                 updateState(CHANNEL_LAST_UPDATE, new DateTimeType(dateTime));
@@ -618,248 +428,399 @@ public class TraccarDeviceHandler extends BaseThingHandler {
                 logger.debug("Failed to parse device time: {}", e.getMessage());
             }
         }
+
+        reportActivity(position);
     }
 
     /**
-     * Update beacon data for a specific beacon number.
-     * Processes both basic telemetry (RSSI, MAC, Battery) and full sensor data
-     * (Temperature, Humidity, Motion, Magnet, Pitch, Roll) when available.
+     * Publish a channel state only if the channel is linked and the state differs
+     * from the last published one.
+     */
+    @Override
+    protected void updateState(ChannelUID channelUID, State state) {
+        String channelId = channelUID.getId();
+        if (linked(channelId) && stateCache.shouldPublish(channelId, state, System.currentTimeMillis())) {
+            super.updateState(channelUID, state);
+        }
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        linkedChannels.add(channelUID.getId());
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        linkedChannels.remove(channelUID.getId());
+        super.channelUnlinked(channelUID);
+    }
+
+    private boolean linked(String channelId) {
+        return linkedChannels.contains(channelId);
+    }
+
+    private boolean linked(ChannelUID channelUID) {
+        return linkedChannels.contains(channelUID.getId());
+    }
+
+    /**
+     * Publish the address of a position. A cached or offline address is published at once;
+     * otherwise Traccar's address is shown until the lookup completes in the background.
+     * Lookups superseded by a newer position are dropped. Positions the geocoding policy
+     * skips keep the last address.
+     */
+    private void updateAddress(Position position) {
+        int deviceId = position.deviceId;
+        TraccarServerHandler serverHandler = getServerHandler();
+        ReverseGeocoder geocoder = serverHandler != null ? serverHandler.getGeocoder() : null;
+        if (geocoder != null && position.hasCoordinates()) {
+            Object ignition = position.attributes.get("ignition");
+            if (!geocodingPolicy.shouldGeocode(position.latitude, position.longitude, isMoving(position),
+                    ignition instanceof Boolean on ? on : null, System.currentTimeMillis())) {
+                return;
+            }
+            long request = ++addressRequest;
+            CompletableFuture<@Nullable String> lookup = geocoder.getAddressAsync(position.latitude,
+                    position.longitude, () -> addressRequest == request);
+            String address = lookup.getNow(null);
+            if (address != null) {
+                logger.debug("Using geocoded address for device {}: {}", deviceId, address);
+                updateState(CHANNEL_ADDRESS, new StringType(address));
+                return;
+            }
+            lookup.thenAcceptAsync(geocoded -> {
+                if (geocoded != null && addressRequest == request) {
+                    logger.debug("Using geocoded address for device {}: {}", deviceId, geocoded);
+                    updateState(CHANNEL_ADDRESS, new StringType(geocoded));
+                }
+            }, lane);
+        }
+
+        // Fall back to Traccar's address if geocoding is disabled or still looking up
+        String address = position.address;
+        if (address != null) {
+            logger.debug("Using Traccar address for device {}: {}", deviceId, address);
+            updateState(CHANNEL_ADDRESS, new StringType(address));
+        }
+    }
+
+    /**
+     * Check a position against the last applied one. Positions already applied or older
+     * than the current state are counted and dropped.
      *
-     * @param attributes Position attributes map from Traccar
-     * @param beaconPrefix Attribute prefix ("tag1", "tag2", "tag3", or "tag4")
-     * @param beaconNumber Beacon number (1-4)
+     * @return true if the position is new and should be applied
      */
+    private boolean acceptPosition(Position position) {
+        boolean duplicate = position.id != 0 ? position.id == lastPositionId
+                : position.fixTime != 0 && position.fixTime == lastFixTime;
+        if (!duplicate && position.fixTime >= lastFixTime) {
+            lastPositionId = position.id;
+            lastFixTime = position.fixTime;
+            return true;
+        }
+        logger.trace("Dropping {} position {} of device {}", duplicate ? "duplicate" : "out-of-order", position.id,
+                position.deviceId);
+        if (duplicate) {
+            updateState(CHANNEL_DUPLICATE_POSITIONS, new DecimalType(++duplicatePositions));
+        } else {
+            updateState(CHANNEL_OUT_OF_ORDER_POSITIONS, new DecimalType(++outOfOrderPositions));
+        }
+        return false;
+    }
+
     /**
-     * Process beacon data routing by MAC address.
-     * Routes each tag1-4 to the correct beacon slot based on MAC configuration.
+     * Tell the bridge whether the device is moving or has its ignition on, so parked
+     * devices can be polled less often.
      */
-    private void processBeaconsWithMacRouting(Map<String, Object> attributes) {
-        logger.debug("Processing beacons with MAC routing");
+    private void reportActivity(Position position) {
+        TraccarServerHandler serverHandler = getServerHandler();
+        TraccarDeviceConfiguration configuration = config;
+        if (serverHandler == null || configuration == null) {
+            return;
+        }
+        boolean active = isMoving(position) || Boolean.TRUE.equals(position.attributes.get("ignition"));
+        serverHandler.onDevicePosition(configuration.deviceId, position.id, active);
+    }
 
-        // Process each tag (tag1 through tag4) from the device
-        for (int tagNum = 1; tagNum <= 4; tagNum++) {
-            String tagPrefix = "tag" + tagNum;
-            String macKey = tagPrefix + "Mac";
-            Object macObj = attributes.get(macKey);
+    /**
+     * Check whether the device reports motion or a speed above the threshold.
+     */
+    private boolean isMoving(Position position) {
+        return Boolean.TRUE.equals(position.attributes.get("motion"))
+                || (!Double.isNaN(position.speed) && position.speed >= settings.speedThresholdKnots);
+    }
 
-            if (macObj instanceof String mac && !mac.isBlank()) {
-                String normalizedMac = mac.toLowerCase().trim();
-                logger.debug("Found {} with MAC {}", tagPrefix, normalizedMac);
+    private void reportStatus(String status) {
+        TraccarServerHandler serverHandler = getServerHandler();
+        TraccarDeviceConfiguration configuration = config;
+        if (serverHandler != null && configuration != null) {
+            serverHandler.onDeviceStatus(configuration.deviceId, "online".equals(status));
+        }
+    }
 
-                // Look up which beacon slot this MAC should go to
-                Integer beaconSlot = macToBeaconSlot.get(normalizedMac);
+    private @Nullable TraccarServerHandler getServerHandler() {
+        Bridge bridge = getBridge();
+        return bridge != null && bridge.getHandler() instanceof TraccarServerHandler serverHandler ? serverHandler
+                : null;
+    }
 
-                if (beaconSlot != null) {
-                    // Route to configured slot
-                    String channelPrefix = "beacon" + beaconSlot;
-                    logger.debug("Routing {} (MAC {}) to {}", tagPrefix, normalizedMac, channelPrefix);
-                    updateBeaconData(attributes, tagPrefix, channelPrefix);
+    /**
+     * Process beacon data routing by MAC address.
+     * Routes each reported tag to the correct beacon slot based on MAC configuration.
+     */
+    private void processBeaconsWithMacRouting(Map<String, Object> attributes) {
+        // Tags beyond the known ones are added once the device reports them
+        while (attributes.containsKey(nextBeaconTag.mac)) {
+            beaconTags.add(nextBeaconTag);
+            nextBeaconTag = new BeaconKeys.Tag(beaconTags.size() + 1);
+        }
+
+        for (int i = 0; i < beaconTags.size(); i++) {
+            BeaconKeys.Tag tag = beaconTags.get(i);
+            if (attributes.get(tag.mac) instanceof String mac && !mac.isBlank()) {
+                BeaconKeys.Slot slot = resolveBeaconSlot(mac);
+                if (slot != null) {
+                    updateBeaconData(attributes, tag, slot);
                 } else {
-                    // MAC not configured - find first available slot
-                    logger.debug("MAC {} not configured, finding available slot", normalizedMac);
-                    Integer availableSlot = findAvailableBeaconSlot(normalizedMac);
-                    if (availableSlot != null) {
-                        String channelPrefix = "beacon" + availableSlot;
-                        logger.debug("Assigning {} (MAC {}) to available {}", tagPrefix, normalizedMac, channelPrefix);
-                        updateBeaconData(attributes, tagPrefix, channelPrefix);
-                    } else {
-                        logger.debug("No available slot for {} (MAC {})", tagPrefix, normalizedMac);
-                    }
+                    logger.debug("No available slot for {} (MAC {})", tag.name, mac);
+                }
+            }
+        }
+    }
+
+    /**
+     * Look up the slot of a beacon MAC, assigning the first free slot to unknown MACs.
+     */
+    private BeaconKeys.@Nullable Slot resolveBeaconSlot(String mac) {
+        Integer slotNumber = macToBeaconSlot.get(mac);
+        if (slotNumber == null) {
+            String normalizedMac = mac.toLowerCase().trim();
+            slotNumber = macToBeaconSlot.get(normalizedMac);
+            if (slotNumber == null) {
+                // MAC not configured - find first available slot
+                slotNumber = findAvailableBeaconSlot(normalizedMac);
+                if (slotNumber == null) {
+                    return null;
                 }
+                logger.debug("Assigning MAC {} to available beacon{}", normalizedMac, slotNumber);
             }
+            // Remember the reported spelling so later updates need no normalization
+            macToBeaconSlot.put(mac, slotNumber);
         }
+        return beaconSlots[slotNumber - 1];
     }
 
     /**
-     * Find an available beacon slot (1-4) that doesn't have a MAC assigned.
+     * Find an available beacon slot that doesn't have a MAC assigned.
      */
     private @Nullable Integer findAvailableBeaconSlot(String mac) {
-        for (int slot = 1; slot <= 4; slot++) {
-            if (!macToBeaconSlot.containsValue(slot)) {
+        for (BeaconKeys.Slot slot : beaconSlots) {
+            if (!macToBeaconSlot.containsValue(slot.number)) {
                 // Temporarily assign this MAC to this slot for this update
-                macToBeaconSlot.put(mac, slot);
-                return slot;
+                macToBeaconSlot.put(mac, slot.number);
+                return slot.number;
             }
         }
         return null;
     }
 
-    private void updateBeaconData(Map<String, Object> attributes, String beaconPrefix, String channelPrefix) {
-        // Channel prefix: beacon1, beacon2, etc.
-
-        // Get configuration parameters for distance calculation
-        Object txPowerObj = getThing().getConfiguration().get("beaconTxPower");
-        int txPower = (txPowerObj instanceof Number) ? ((Number) txPowerObj).intValue() : -59;
-
-        Object pathLossObj = getThing().getConfiguration().get("beaconPathLoss");
-        double pathLoss = (pathLossObj instanceof Number) ? ((Number) pathLossObj).doubleValue() : 2.0;
-
+    /**
+     * Update the channels of a beacon slot from the attributes of a tag.
+     * Processes both basic telemetry (RSSI, MAC, Battery) and full sensor data
+     * (Temperature, Humidity, Motion, Magnet, Pitch, Roll) when available.
+     */
+    private void updateBeaconData(Map<String, Object> attributes, BeaconKeys.Tag tag, BeaconKeys.Slot slot) {
         // Basic telemetry (always check)
-        Object rssi = attributes.get(beaconPrefix + "Rssi");
+        Object rssi = attributes.get(tag.rssi);
         if (rssi instanceof Number rssiValue) {
             int rssiInt = rssiValue.intValue();
-            updateState(channelPrefix + "-rssi", new DecimalType(rssiInt));
+            if (linked(slot.rssi)) {
+                updateState(slot.rssi, new DecimalType(rssiInt));
+            }
 
             // Calculate distance from RSSI
             // Formula: distance = 10 ^ ((txPower - RSSI) / (10 * pathLossExponent))
-            double exponent = (txPower - rssiInt) / (10.0 * pathLoss);
-            double distanceMeters = Math.pow(10, exponent);
-            updateState(channelPrefix + "-distance", new QuantityType<>(distanceMeters, SIUnits.METRE));
+            if (linked(slot.distance)) {
+                DeviceSettings currentSettings = settings;
+                double exponent = (currentSettings.beaconTxPower - rssiInt) / (10.0 * currentSettings.beaconPathLoss);
+                double distanceMeters = Math.pow(10, exponent);
+                updateState(slot.distance, new QuantityType<>(distanceMeters, SIUnits.METRE));
+            }
         }
 
-        Object mac = attributes.get(beaconPrefix + "Mac");
-        if (mac instanceof String macValue) {
-            updateState(channelPrefix + "-mac", new StringType(macValue));
+        Object mac = attributes.get(tag.mac);
+        if (linked(slot.mac) && mac instanceof String macValue) {
+            updateState(slot.mac, new StringType(macValue));
         }
 
-        Object battery = attributes.get(beaconPrefix + "Battery");
-        if (battery instanceof Number batteryValue) {
-            updateState(channelPrefix + "-battery",
-                    new QuantityType<>(batteryValue.doubleValue(), MetricPrefix.MILLI(Units.VOLT)));
+        Object battery = attributes.get(tag.battery);
+        if (linked(slot.battery) && battery instanceof Number batteryValue) {
+            updateState(slot.battery, new QuantityType<>(batteryValue.doubleValue(), MetricPrefix.MILLI(Units.VOLT)));
         }
 
-        Object lowBattery = attributes.get(beaconPrefix + "LowBattery");
-        if (lowBattery instanceof Number lowBatteryValue) {
-            updateState(channelPrefix + "-lowBattery", OnOffType.from(lowBatteryValue.intValue() != 0));
+        Object lowBattery = attributes.get(tag.lowBattery);
+        if (linked(slot.lowBattery) && lowBattery instanceof Number lowBatteryValue) {
+            updateState(slot.lowBattery, OnOffType.from(lowBatteryValue.intValue() != 0));
         }
 
         // Full sensor data (may not always be present)
-        Object name = attributes.get(beaconPrefix + "Name");
+        Object name = attributes.get(tag.beaconName);
+        int nameIndex = slot.number - 1;
         if (name instanceof String nameValue) {
             // Trim null characters from name
-            String cleanName = nameValue.replaceAll("\\u0000", "").trim();
+            String cleanName = stripNul(nameValue);
             if (!cleanName.isEmpty()) {
-                // Extract beacon slot number from channelPrefix (e.g., "beacon1" -> 1)
-                int beaconSlot = Integer.parseInt(channelPrefix.replace("beacon", ""));
-
                 // Check if name has changed
-                String previousName = beaconSlotToName.get(beaconSlot);
+                String previousName = beaconNames[nameIndex];
                 if (previousName == null || !previousName.equals(cleanName)) {
-                    logger.info("Beacon {} name updated: '{}' -> '{}'", beaconSlot,
+                    logger.info("Beacon {} name updated: '{}' -> '{}'", slot.number,
                             previousName != null ? previousName : "<none>", cleanName);
 
                     // Store in memory
-                    beaconSlotToName.put(beaconSlot, cleanName);
+                    beaconNames[nameIndex] = cleanName;
 
                     // Persist to Thing properties
                     Map<String, String> properties = editProperties();
-                    properties.put("beacon" + beaconSlot + "Name", cleanName);
+                    properties.put(slot.propertyName, cleanName);
                     updateProperties(properties);
                 }
 
                 // Always update channel with latest name
-                updateState(channelPrefix + "-name", new StringType(cleanName));
+                if (linked(slot.name)) {
+                    updateState(slot.name, new StringType(cleanName));
+                }
             }
         } else {
             // Name not in current webhook - use stored name if available
-            int beaconSlot = Integer.parseInt(channelPrefix.replace("beacon", ""));
-            String storedName = beaconSlotToName.get(beaconSlot);
-            if (storedName != null) {
-                updateState(channelPrefix + "-name", new StringType(storedName));
+            String storedName = beaconNames[nameIndex];
+            if (storedName != null && linked(slot.name)) {
+                updateState(slot.name, new StringType(storedName));
             }
         }
 
-        Object temp = attributes.get(beaconPrefix + "Temp");
-        if (temp instanceof Number tempValue) {
+        Object temp = attributes.get(tag.temperature);
+        if (linked(slot.temperature) && temp instanceof Number tempValue) {
             // Temperature is in hundredths of °C
             double celsius = tempValue.doubleValue() / 100.0;
-            updateState(channelPrefix + "-temperature", new QuantityType<>(celsius, SIUnits.CELSIUS));
+            updateState(slot.temperature, new QuantityType<>(celsius, SIUnits.CELSIUS));
         }
 
-        Object humidity = attributes.get(beaconPrefix + "Humidity");
-        if (humidity instanceof Number humidityValue) {
-            updateState(channelPrefix + "-humidity", new QuantityType<>(humidityValue.doubleValue(), Units.PERCENT));
+        Object humidity = attributes.get(tag.humidity);
+        if (linked(slot.humidity) && humidity instanceof Number humidityValue) {
+            updateState(slot.humidity, new QuantityType<>(humidityValue.doubleValue(), Units.PERCENT));
         }
 
-        Object magnet = attributes.get(beaconPrefix + "Magnet");
-        if (magnet instanceof Boolean magnetValue) {
+        Object magnet = attributes.get(tag.magnet);
+        if (linked(slot.magnet) && magnet instanceof Boolean magnetValue) {
             // Magnet sensor: false=CLOSED (magnet near), true=OPEN (magnet away)
-            updateState(channelPrefix + "-magnet", magnetValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED);
+            updateState(slot.magnet, magnetValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED);
         }
 
-        Object motion = attributes.get(beaconPrefix + "Motion");
-        if (motion instanceof Boolean motionValue) {
-            updateState(channelPrefix + "-motion", OnOffType.from(motionValue));
+        Object motion = attributes.get(tag.motion);
+        if (linked(slot.motion) && motion instanceof Boolean motionValue) {
+            updateState(slot.motion, OnOffType.from(motionValue));
         }
 
-        Object motionCount = attributes.get(beaconPrefix + "MotionCount");
-        if (motionCount instanceof Number motionCountValue) {
-            updateState(channelPrefix + "-motionCount", new DecimalType(motionCountValue.intValue()));
+        Object motionCount = attributes.get(tag.motionCount);
+        if (linked(slot.motionCount) && motionCount instanceof Number motionCountValue) {
+            updateState(slot.motionCount, new DecimalType(motionCountValue.intValue()));
         }
 
-        Object pitch = attributes.get(beaconPrefix + "Pitch");
-        if (pitch instanceof Number pitchValue) {
-            updateState(channelPrefix + "-pitch", new QuantityType<>(pitchValue.doubleValue(), Units.DEGREE_ANGLE));
+        Object pitch = attributes.get(tag.pitch);
+        if (linked(slot.pitch) && pitch instanceof Number pitchValue) {
+            updateState(slot.pitch, new QuantityType<>(pitchValue.doubleValue(), Units.DEGREE_ANGLE));
         }
 
-        Object roll = attributes.get(beaconPrefix + "AngleRoll");
-        if (roll instanceof Number rollValue) {
-            updateState(channelPrefix + "-roll", new QuantityType<>(rollValue.doubleValue(), Units.DEGREE_ANGLE));
+        Object roll = attributes.get(tag.roll);
+        if (linked(slot.roll) && roll instanceof Number rollValue) {
+            updateState(slot.roll, new QuantityType<>(rollValue.doubleValue(), Units.DEGREE_ANGLE));
         }
     }
 
-    public void updatePositionFromWebhook(Map<String, Object> position) {
+    /**
+     * Remove NUL padding from a beacon name without a regex; returns the trimmed input
+     * unchanged when it contains none.
+     */
+    private static String stripNul(String value) {
+        return value.indexOf('\0') < 0 ? value.trim() : value.replace("\0", "").trim();
+    }
+
+    public void updatePositionFromWebhook(Position position) {
         logger.debug("Updating position from webhook for device {}", config != null ? config.deviceId : "unknown");
-        updatePositionChannels(position);
+        positionCoalescer.submit(position);
+    }
+
+    /**
+     * Get the number of stale positions skipped because a newer one was pending.
+     */
+    public long getCoalescedCount() {
+        return positionCoalescer.getCoalescedCount();
     }
 
     public void updateStatus(String status) {
         logger.debug("Updating status from webhook for device {}: {}", config != null ? config.deviceId : "unknown",
                 status);
-        updateState(CHANNEL_STATUS, new StringType(status));
+        lane.execute(() -> {
+            updateState(CHANNEL_STATUS, new StringType(status));
+            reportStatus(status);
+        });
+    }
+
+    public void handleGeofenceEvent(WebhookPayload payload) {
+        lane.execute(() -> applyGeofenceEvent(payload));
     }
 
-    public void handleGeofenceEvent(Map<String, Object> eventData) {
-        // Extract the event object - Traccar sends nested structure
-        Object eventObj = eventData.get("event");
-        if (!(eventObj instanceof Map<?, ?>)) {
+    private void applyGeofenceEvent(WebhookPayload payload) {
+        Event event = payload.event;
+        if (event == null) {
             logger.debug("No event object in webhook data");
             return;
         }
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> event = (Map<String, Object>) eventObj;
-
         // Handle geofence entry/exit events from webhook
-        Object eventTypeObj = event.get("type");
-        if (eventTypeObj instanceof String eventType) {
+        String eventType = event.type;
+        if (eventType != null) {
             updateState(CHANNEL_GEOFENCE_EVENT, new StringType(eventType));
 
-            // Update geofence name if available
-            Object geofenceObj = eventData.get("geofence");
-            if (geofenceObj instanceof Map<?, ?>) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> geofence = (Map<String, Object>) geofenceObj;
+            // Look up the address where the geofence was entered or left: the event's own position
+            // if it carries one that is not older than the applied state, otherwise the next position
+            geocodingPolicy.geofenceEvent();
+            Position position = payload.position;
+            if (position != null && position.fixTime >= lastFixTime && linked(CHANNEL_ADDRESS)) {
+                updateAddress(position);
+            }
 
+            // Update geofence name if available
+            Geofence geofence = payload.geofence;
+            if (geofence != null) {
                 // Update geofence ID
-                Object idObj = geofence.get("id");
-                if (idObj instanceof Number geofenceId) {
-                    updateState(CHANNEL_GEOFENCE_ID, new DecimalType(geofenceId.longValue()));
+                if (geofence.id != 0) {
+                    updateState(CHANNEL_GEOFENCE_ID, new DecimalType(geofence.id));
                 }
 
                 // Update geofence name
-                Object nameObj = geofence.get("name");
-                if (nameObj instanceof String geofenceName) {
+                String geofenceName = geofence.name;
+                if (geofenceName != null) {
                     updateState(CHANNEL_GEOFENCE_NAME, new StringType(geofenceName));
                     TraccarDeviceConfiguration configuration = config;
                     logger.info("Device {} {} geofence: {} (ID: {})",
                             configuration != null ? Integer.valueOf(configuration.deviceId) : "unknown", eventType,
-                            geofenceName, idObj);
+                            geofenceName, geofence.id);
                 }
             }
-
-            // Also update position if included in the event
-            Object positionObj = eventData.get("position");
-            if (positionObj instanceof Map<?, ?>) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> position = (Map<String, Object>) positionObj;
-                logger.debug("Updating position from geofence event");
-                updatePositionChannels(position);
-            }
+            // A position included in the event is applied by the bridge together with other positions
         }
     }
 
     public @Nullable TraccarDeviceConfiguration getConfiguration() {
         return config;
     }
+
+    /**
+     * @return the position attributes read by this device's attribute mappings
+     */
+    Set<String> getMappedAttributes() {
+        return attributeMapper.getAttributes();
+    }
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.traccar.internal.dto.Device;
 import org.openhab.core.config.discovery.AbstractThingHandlerDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.thing.ThingUID;
@@ -60,7 +61,7 @@ public class TraccarDiscoveryService extends AbstractThingHandlerDiscoveryServic
             return;
         }
 
-        List<Map<String, Object>> devices = apiClient.getDevices();
+        List<Device> devices = apiClient.getDevices();
         if (devices == null) {
             logger.warn("Failed to retrieve devices from Traccar server");
             return;
@@ -68,37 +69,36 @@ public class TraccarDiscoveryService extends AbstractThingHandlerDiscoveryServic
 
         ThingUID bridgeUID = handler.getThing().getUID();
 
-        for (Map<String, Object> device : devices) {
+        for (Device device : devices) {
             discoverDevice(bridgeUID, device);
         }
 
         logger.info("Discovered {} Traccar device(s)", devices.size());
     }
 
-    private void discoverDevice(ThingUID bridgeUID, Map<String, Object> device) {
-        Object deviceIdObj = device.get("id");
-        if (deviceIdObj == null) {
+    private void discoverDevice(ThingUID bridgeUID, Device device) {
+        int deviceId = device.id;
+        if (deviceId == 0) {
             return;
         }
 
-        int deviceId = ((Number) deviceIdObj).intValue();
-        Object nameObj = device.get("name");
-        String name = nameObj instanceof String ? (String) nameObj : "Device " + deviceId;
-        Object uniqueIdObj = device.get("uniqueId");
-        String uniqueId = uniqueIdObj instanceof String ? (String) uniqueIdObj : String.valueOf(deviceId);
+        String deviceName = device.name;
+        String name = deviceName != null ? deviceName : "Device " + deviceId;
+        String deviceUniqueId = device.uniqueId;
+        String uniqueId = deviceUniqueId != null ? deviceUniqueId : String.valueOf(deviceId);
 
         ThingUID thingUID = new ThingUID(THING_TYPE_DEVICE, bridgeUID, uniqueId);
 
         Map<String, Object> properties = new HashMap<>();
         properties.put("deviceId", Integer.valueOf(deviceId));
         properties.put("uniqueId", uniqueId);
-        Object modelObj = device.get("model");
-        if (modelObj != null) {
-            properties.put("model", modelObj);
+        String model = device.model;
+        if (model != null) {
+            properties.put("model", model);
         }
-        Object contactObj = device.get("contact");
-        if (contactObj != null) {
-            properties.put("contact", contactObj);
+        String contact = device.contact;
+        if (contact != null) {
+            properties.put("contact", contact);
         }
 
         thingDiscovered(DiscoveryResultBuilder.create(thingUID).withThingType(THING_TYPE_DEVICE).withBridge(bridgeUID)
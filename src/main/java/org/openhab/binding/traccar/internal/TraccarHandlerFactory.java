@@ -17,7 +17,9 @@ import static org.openhab.binding.traccar.internal.TraccarBindingConstants.*;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
 import org.openhab.core.io.net.http.HttpClientFactory;
+import org.openhab.core.io.net.http.WebSocketFactory;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -39,10 +41,13 @@ import org.osgi.service.component.annotations.Reference;
 public class TraccarHandlerFactory extends BaseThingHandlerFactory {
 
     private final HttpClient httpClient;
+    private final WebSocketClient webSocketClient;
 
     @Activate
-    public TraccarHandlerFactory(@Reference HttpClientFactory httpClientFactory) {
+    public TraccarHandlerFactory(@Reference HttpClientFactory httpClientFactory,
+            @Reference WebSocketFactory webSocketFactory) {
         this.httpClient = httpClientFactory.getCommonHttpClient();
+        this.webSocketClient = webSocketFactory.getCommonWebSocketClient();
     }
 
     @Override
@@ -55,7 +60,7 @@ public class TraccarHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_SERVER.equals(thingTypeUID)) {
-            return new TraccarServerHandler((Bridge) thing, httpClient);
+            return new TraccarServerHandler((Bridge) thing, httpClient, webSocketClient);
         } else if (THING_TYPE_DEVICE.equals(thingTypeUID)) {
             return new TraccarDeviceHandler(thing);
         }
@@ -23,13 +23,34 @@ public class TraccarServerConfiguration {
     public String username = "";
     public String password = "";
     public int refreshInterval = 60;
+    public boolean bulkPolling = true; // one request for all positions and one for all devices per poll
+    public boolean adaptivePolling = true; // poll parked/offline devices less often
+    public int maxRefreshInterval = 600; // seconds, upper bound for idle devices
     public int webhookPort = 8090;
+    public int webhookQueueCapacity = 1000;
+    public int webhookWorkers = 1; // more than one worker may reorder updates of a device
+    public String webhookOverflowPolicy = "dropOldest"; // dropOldest or reject (HTTP 503)
+    public boolean useWebSocket = false; // stream updates from /api/socket instead of polling
     public String speedUnit = "kmh";
     public double speedThreshold = 2.0; // km/h - speeds below this are shown as 0
+    public int beaconTxPower = -59; // dBm at 1 m, default for devices without their own setting
+    public double beaconPathLoss = 2.0;
+
+    // Reverse geocoding: traccar (Traccar's address), nominatim or offline
+    public String geocoder = "traccar";
+    public String offlineDatasetPath = "";
+    public int offlineMaxDistance = 1000; // meters
 
     // Nominatim reverse geocoding settings
-    public boolean useNominatim = false;
+    public boolean useNominatim = false; // deprecated, same as geocoder=nominatim unless geocoder is set
     public String nominatimUrl = "https://nominatim.openstreetmap.org";
     public String nominatimLanguage = "en";
+    public double nominatimRequestRate = 1.0; // requests per second for all devices together
+    public int nominatimConnectTimeout = 10; // seconds
+    public int nominatimReadTimeout = 10; // seconds
+    public boolean nominatimHttp2 = true; // falls back to HTTP/1.1 if the server does not support it
     public int geocodingCacheDistance = 50;
+    public int geocodingCacheMaxEntries = 10000;
+    public int geocodingCacheTtl = 168; // hours, 0 keeps addresses until evicted
+    public boolean geocodingCachePersist = true; // keep the cache in userdata across restarts
 }
@@ -12,22 +12,47 @@
  */
 package org.openhab.binding.traccar.internal;
 
+import static org.openhab.binding.traccar.internal.TraccarBindingConstants.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.openhab.binding.traccar.internal.dto.Device;
+import org.openhab.binding.traccar.internal.dto.Event;
+import org.openhab.binding.traccar.internal.dto.Geofence;
+import org.openhab.binding.traccar.internal.dto.Position;
+import org.openhab.binding.traccar.internal.dto.TraccarTypeAdapters;
+import org.openhab.binding.traccar.internal.dto.TraccarTypeAdapters.Decoder;
+import org.openhab.binding.traccar.internal.dto.WebhookPayload;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.unit.MetricPrefix;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.ChannelUID;
+import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
+import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.RefreshType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,17 +65,37 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class TraccarServerHandler extends BaseBridgeHandler {
 
+    private static final long STATISTICS_INTERVAL_S = 10;
+    // Larger subsets are fetched with the unfiltered bulk requests and filtered locally,
+    // so the query string does not grow with the fleet
+    private static final int MAX_FILTERED_IDS = 50;
+
     private final Logger logger = LoggerFactory.getLogger(TraccarServerHandler.class);
     private final HttpClient httpClient;
+    private final WebSocketClient webSocketClient;
 
     private @Nullable TraccarServerConfiguration config;
     private @Nullable ScheduledFuture<?> pollingJob;
+    private @Nullable ScheduledFuture<?> statisticsJob;
     private @Nullable TraccarApiClient apiClient;
     private @Nullable TraccarWebhookServer webhookServer;
+    private @Nullable TraccarWebSocketClient streamClient;
+    private @Nullable ReverseGeocoder geocoder;
+    private volatile @Nullable CompletableFuture<?> pollInProgress;
+    private volatile @Nullable AdaptivePollScheduler pollScheduler;
+    // Routing index for webhook, WebSocket and poll updates: Traccar deviceId -> handler
+    private final Map<Integer, TraccarDeviceHandler> deviceHandlers = new ConcurrentHashMap<>();
+    // Attributes read by the attribute mappings of this bridge's devices; decoded positions keep them
+    private volatile Set<String> mappedAttributes = Set.of();
+    private final Decoder<Position> positionDecoder = TraccarTypeAdapters
+            .positions(name -> mappedAttributes.contains(name));
+    private final Decoder<WebhookPayload> webhookPayloadDecoder = TraccarTypeAdapters
+            .webhookPayloads(positionDecoder);
 
-    public TraccarServerHandler(Bridge bridge, HttpClient httpClient) {
+    public TraccarServerHandler(Bridge bridge, HttpClient httpClient, WebSocketClient webSocketClient) {
         super(bridge);
         this.httpClient = httpClient;
+        this.webSocketClient = webSocketClient;
     }
 
     @Override
@@ -64,11 +109,16 @@ public class TraccarServerHandler extends BaseBridgeHandler {
         }
 
         // Initialize API client
-        apiClient = new TraccarApiClient(httpClient, config.url, config.username, config.password);
+        apiClient = new TraccarApiClient(httpClient, config.url, config.username, config.password,
+                positionDecoder);
+
+        // One geocoder for all devices: shared cache and a global request rate
+        geocoder = createGeocoder(config);
 
         // Start webhook server for geofence events
         try {
-            webhookServer = new TraccarWebhookServer(this, config.webhookPort);
+            webhookServer = new TraccarWebhookServer(this, config.webhookPort, config.webhookQueueCapacity,
+                    config.webhookWorkers, config.webhookOverflowPolicy);
             webhookServer.start();
             logger.info("Traccar webhook server started on port {}", config.webhookPort);
         } catch (Exception e) {
@@ -79,49 +129,281 @@ public class TraccarServerHandler extends BaseBridgeHandler {
         }
 
         updateStatus(ThingStatus.UNKNOWN);
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::updateStatistics, STATISTICS_INTERVAL_S,
+                STATISTICS_INTERVAL_S, TimeUnit.SECONDS);
 
         // Start polling for device positions
         scheduler.execute(this::connect);
     }
 
-    private void connect() {
-        try {
-            TraccarApiClient client = apiClient;
-            if (client != null && client.authenticate()) {
-                updateStatus(ThingStatus.ONLINE);
-                startPolling();
+    private @Nullable ReverseGeocoder createGeocoder(TraccarServerConfiguration configuration) {
+        String type = configuration.geocoder;
+        if (configuration.useNominatim) {
+            // The legacy switch only applies while geocoder is left at its default
+            if ("traccar".equals(type)) {
+                type = "nominatim";
             } else {
+                logger.warn("useNominatim is deprecated and ignored, geocoder=\"{}\" is used", type);
+            }
+        }
+        switch (type) {
+            case "nominatim" -> {
+                GeocodeCacheStore store = configuration.geocodingCachePersist
+                        ? new GeocodeCacheStore(Path.of(OpenHAB.getUserDataFolder(), BINDING_ID,
+                                "geocode-" + getThing().getUID().getId() + ".cache"))
+                        : null;
+                logger.info("Nominatim geocoding enabled (server: {}, language: {})", configuration.nominatimUrl,
+                        configuration.nominatimLanguage);
+                return new NominatimGeocoder(configuration, store);
+            }
+            case "offline" -> {
+                if (configuration.offlineDatasetPath.isBlank()) {
+                    logger.warn("Offline geocoding needs a dataset path, using Traccar's addresses");
+                    return null;
+                }
+                OfflineGeocoder offline = new OfflineGeocoder(Path.of(configuration.offlineDatasetPath),
+                        configuration.offlineMaxDistance);
+                offline.startLoading();
+                return offline;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private void connect() {
+        TraccarApiClient client = apiClient;
+        if (client == null) {
+            return;
+        }
+        client.authenticateAsync().thenAcceptAsync(authenticated -> {
+            if (!authenticated) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "Authentication failed");
+                return;
             }
-        } catch (Exception e) {
+            updateStatus(ThingStatus.ONLINE);
+            TraccarServerConfiguration configuration = config;
+            if (configuration != null && configuration.useWebSocket) {
+                startStreaming(client);
+            } else {
+                startPolling();
+            }
+        }, scheduler).exceptionally(e -> {
             logger.error("Failed to connect to Traccar server: {}", e.getMessage());
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     "Connection failed: " + e.getMessage());
-        }
+            return null;
+        });
     }
 
     private void startPolling() {
         TraccarServerConfiguration configuration = config;
         if (configuration != null) {
+            if (configuration.adaptivePolling) {
+                // The job still ticks every refreshInterval; the scheduler picks the devices that are due
+                pollScheduler = new AdaptivePollScheduler(configuration.refreshInterval * 1000L,
+                        configuration.maxRefreshInterval * 1000L);
+            }
             pollingJob = scheduler.scheduleWithFixedDelay(this::poll, 0, configuration.refreshInterval,
                     TimeUnit.SECONDS);
         }
     }
 
+    /**
+     * Receive live updates over Traccar's WebSocket instead of polling.
+     */
+    private void startStreaming(TraccarApiClient client) {
+        TraccarWebSocketClient stream = new TraccarWebSocketClient(this, client, webSocketClient, scheduler);
+        streamClient = stream;
+        stream.start();
+    }
+
+    /**
+     * Called when the WebSocket is (re)connected. Updates sent while the socket was
+     * down are lost, so all devices are resynchronized via REST once.
+     */
+    void onStreamConnected() {
+        scheduler.execute(this::poll);
+    }
+
+    /**
+     * Start one poll cycle. The requests run asynchronously, so no scheduler thread waits
+     * on the network; a cycle is skipped while the previous one is still in flight.
+     */
     private void poll() {
-        try {
-            TraccarApiClient client = apiClient;
-            if (client != null) {
-                // Update device positions for all child things
-                getThing().getThings().forEach(thing -> {
-                    if (thing.getHandler() instanceof TraccarDeviceHandler deviceHandler) {
-                        deviceHandler.updatePosition();
+        TraccarApiClient client = apiClient;
+        TraccarServerConfiguration configuration = config;
+        if (client == null || configuration == null) {
+            return;
+        }
+        CompletableFuture<?> previous = pollInProgress;
+        if (previous != null && !previous.isDone()) {
+            logger.debug("Previous poll still in progress, skipping this cycle");
+            return;
+        }
+
+        // Cancelled on dispose, after which the stages below no longer hand results to the devices
+        CompletableFuture<@Nullable Void> cycle = new CompletableFuture<>();
+        AdaptivePollScheduler adaptive = pollScheduler;
+        if (adaptive == null) {
+            pollInProgress = cycle;
+            CompletableFuture<Boolean> bulk = configuration.bulkPolling ? pollAllDevices(client, cycle)
+                    : CompletableFuture.completedFuture(false);
+            bulk.thenCompose(done -> done || cycle.isCancelled() ? CompletableFuture.completedFuture(null)
+                    : pollEachDevice(deviceHandlers.keySet())).whenComplete((result, e) -> {
+                        if (e != null) {
+                            logger.debug("Polling error: {}", e.getMessage());
+                        }
+                        cycle.complete(null);
+                    });
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Integer> due = adaptive.dueDevices(deviceHandlers.keySet(), now);
+        if (due.isEmpty()) {
+            return;
+        }
+        logger.debug("Polling {} of {} device(s)", due.size(), deviceHandlers.size());
+        pollInProgress = cycle;
+        CompletableFuture<Boolean> bulk = configuration.bulkPolling ? pollDueDevices(client, adaptive, due, cycle)
+                : CompletableFuture.completedFuture(false);
+        bulk.thenCompose(done -> done || cycle.isCancelled() ? CompletableFuture.completedFuture(null)
+                : pollEachDevice(due)).whenComplete((result, e) -> {
+                    due.forEach(deviceId -> adaptive.polled(deviceId, now));
+                    if (e != null) {
+                        logger.debug("Polling error: {}", e.getMessage());
                     }
+                    cycle.complete(null);
                 });
+    }
+
+    /**
+     * Per-device polling (bulk polling disabled or bulk request failed).
+     */
+    private CompletableFuture<Void> pollEachDevice(Collection<Integer> deviceIds) {
+        List<CompletableFuture<Void>> updates = new ArrayList<>();
+        for (Integer deviceId : deviceIds) {
+            TraccarDeviceHandler deviceHandler = deviceHandlers.get(deviceId);
+            if (deviceHandler != null) {
+                updates.add(deviceHandler.updatePosition());
             }
-        } catch (Exception e) {
-            logger.debug("Polling error: {}", e.getMessage());
         }
+        return CompletableFuture.allOf(updates.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Poll a subset of devices. Traccar cannot filter the latest positions by several
+     * device IDs, so the devices are fetched first and only positions whose ID changed
+     * since the last update are requested. Requests for more than {@link #MAX_FILTERED_IDS}
+     * IDs are replaced by the unfiltered bulk requests, whose results are filtered here.
+     *
+     * @return future completing with false if the requests failed and per-device polling should be used
+     */
+    private CompletableFuture<Boolean> pollDueDevices(TraccarApiClient client, AdaptivePollScheduler adaptive,
+            List<Integer> due, CompletableFuture<?> cycle) {
+        Set<Integer> dueIds = new HashSet<>(due);
+        CompletableFuture<@Nullable List<Device>> devicesFuture = due.size() <= MAX_FILTERED_IDS
+                ? client.getDevicesAsync(due)
+                : client.getDevicesAsync();
+        return devicesFuture.thenCompose(devices -> {
+            if (cycle.isCancelled()) {
+                return CompletableFuture.completedFuture(true);
+            }
+            if (devices == null) {
+                logger.debug("Device request failed, falling back to per-device polling");
+                return CompletableFuture.completedFuture(false);
+            }
+
+            List<Device> dueDevices = new ArrayList<>();
+            Set<Integer> changedDevices = new HashSet<>();
+            List<Long> changed = new ArrayList<>();
+            for (Device device : devices) {
+                if (!dueIds.contains(device.id)) {
+                    continue;
+                }
+                dueDevices.add(device);
+                if (device.positionId != 0 && device.positionId != adaptive.getPositionId(device.id)) {
+                    changedDevices.add(device.id);
+                    changed.add(device.positionId);
+                }
+            }
+            CompletableFuture<@Nullable List<Position>> positionsFuture;
+            if (changed.isEmpty()) {
+                positionsFuture = CompletableFuture.completedFuture(List.of());
+            } else if (changed.size() <= MAX_FILTERED_IDS) {
+                positionsFuture = client.getPositionsAsync(changed);
+            } else {
+                positionsFuture = client.getLatestPositionsAsync();
+            }
+            return positionsFuture.thenApplyAsync(positions -> {
+                if (cycle.isCancelled()) {
+                    return true;
+                }
+                if (positions == null) {
+                    logger.debug("Position request failed, falling back to per-device polling");
+                    return false;
+                }
+                Map<Integer, Position> positionsByDevice = new HashMap<>(changedDevices.size() * 2);
+                for (Position position : positions) {
+                    if (changedDevices.contains(position.deviceId)) {
+                        positionsByDevice.put(position.deviceId, position);
+                    }
+                }
+                for (Device device : dueDevices) {
+                    TraccarDeviceHandler deviceHandler = deviceHandlers.get(device.id);
+                    if (deviceHandler != null) {
+                        deviceHandler.updateFromPoll(device, null);
+                    }
+                }
+                positionsByDevice.values().forEach(this::applyPosition);
+                logger.debug("Adaptive poll fetched {} device(s) and {} changed position(s)", dueDevices.size(),
+                        positionsByDevice.size());
+                return true;
+            }, scheduler);
+        });
+    }
+
+    /**
+     * Fetch all devices and all latest positions with one request each and hand
+     * the results to the matching device handlers.
+     *
+     * @return future completing with false if the bulk requests failed and per-device polling should be used
+     */
+    private CompletableFuture<Boolean> pollAllDevices(TraccarApiClient client, CompletableFuture<?> cycle) {
+        CompletableFuture<@Nullable List<Device>> devicesFuture = client.getDevicesAsync();
+        return client.getLatestPositionsAsync().thenCombineAsync(devicesFuture, (positions, devices) -> {
+            if (cycle.isCancelled()) {
+                return true;
+            }
+            if (positions == null) {
+                logger.debug("Bulk position request failed, falling back to per-device polling");
+                return false;
+            }
+
+            Map<Integer, Position> positionsByDevice = new HashMap<>(positions.size() * 2);
+            for (Position position : positions) {
+                positionsByDevice.put(position.deviceId, position);
+            }
+            Map<Integer, Device> devicesById = new HashMap<>();
+            if (devices != null) {
+                for (Device device : devices) {
+                    devicesById.put(device.id, device);
+                }
+            }
+
+            deviceHandlers.forEach((deviceId, deviceHandler) -> {
+                deviceHandler.updateFromPoll(devicesById.get(deviceId), null);
+                Position position = positionsByDevice.get(deviceId);
+                if (position != null) {
+                    deviceHandler.updatePositionFromWebhook(position);
+                }
+            });
+            logger.debug("Bulk poll distributed {} position(s) and {} device(s)", positionsByDevice.size(),
+                    devicesById.size());
+            return true;
+        }, scheduler);
     }
 
     @Override
@@ -131,6 +413,25 @@ public class TraccarServerHandler extends BaseBridgeHandler {
             job.cancel(true);
             pollingJob = null;
         }
+        CompletableFuture<?> poll = pollInProgress;
+        if (poll != null) {
+            // Responses still in flight are no longer handed to the devices
+            poll.cancel(true);
+            pollInProgress = null;
+        }
+        pollScheduler = null;
+
+        ScheduledFuture<?> statistics = statisticsJob;
+        if (statistics != null) {
+            statistics.cancel(true);
+            statisticsJob = null;
+        }
+
+        TraccarWebSocketClient stream = streamClient;
+        if (stream != null) {
+            stream.stop();
+            streamClient = null;
+        }
 
         TraccarWebhookServer webhook = webhookServer;
         if (webhook != null) {
@@ -141,13 +442,52 @@ public class TraccarServerHandler extends BaseBridgeHandler {
             }
             webhookServer = null;
         }
+        ReverseGeocoder reverseGeocoder = geocoder;
+        if (reverseGeocoder != null) {
+            reverseGeocoder.dispose();
+            geocoder = null;
+        }
 
         super.dispose();
     }
 
+    /**
+     * Publish the bridge's runtime statistics channels.
+     */
+    private void updateStatistics() {
+        TraccarWebhookServer webhook = webhookServer;
+        if (webhook != null) {
+            updateState(CHANNEL_WEBHOOK_QUEUE_DEPTH, new DecimalType(webhook.getQueueDepth()));
+        }
+        long coalesced = 0;
+        for (TraccarDeviceHandler deviceHandler : deviceHandlers.values()) {
+            coalesced += deviceHandler.getCoalescedCount();
+        }
+        updateState(CHANNEL_COALESCED_POSITIONS, new DecimalType(coalesced));
+        updateGeocodingStatistics();
+    }
+
+    private void updateGeocodingStatistics() {
+        if (!(geocoder instanceof NominatimGeocoder nominatim)) {
+            return;
+        }
+        GeocodeCache cache = nominatim.getCache();
+        updateState(CHANNEL_GEOCODING_CACHE_SIZE, new DecimalType(cache.size()));
+        updateState(CHANNEL_GEOCODING_CACHE_HITS, new DecimalType(cache.getHits()));
+        updateState(CHANNEL_GEOCODING_CACHE_MISSES, new DecimalType(cache.getMisses()));
+        updateState(CHANNEL_GEOCODING_CACHE_EVICTIONS, new DecimalType(cache.getEvictions()));
+        long requests = nominatim.getRequestCount();
+        if (requests > 0) {
+            updateState(CHANNEL_GEOCODING_LATENCY, new QuantityType<>(
+                    (double) nominatim.getTotalLatencyMs() / requests, MetricPrefix.MILLI(Units.SECOND)));
+        }
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
-        // Bridge doesn't handle commands
+        if (command instanceof RefreshType) {
+            updateStatistics();
+        }
     }
 
     @Override
@@ -155,94 +495,206 @@ public class TraccarServerHandler extends BaseBridgeHandler {
         return Set.of(TraccarDiscoveryService.class);
     }
 
+    /**
+     * Get the reverse geocoder shared by all devices, or null if Traccar's addresses are used.
+     */
+    public @Nullable ReverseGeocoder getGeocoder() {
+        return geocoder;
+    }
+
     public @Nullable TraccarApiClient getApiClient() {
         return apiClient;
     }
 
-    public void handleWebhookEvent(Map<String, Object> eventData) {
-        // Extract event data - Traccar sends nested structure
-        Object eventObj = eventData.get("event");
-        final Map<String, Object> event;
-        if (eventObj instanceof Map<?, ?>) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> eventMap = (Map<String, Object>) eventObj;
-            event = eventMap;
-        } else {
-            event = null;
-        }
-
-        // Extract device ID from event or top-level data or position data
-        Integer deviceId = null;
-        if (event != null && event.get("deviceId") instanceof Number) {
-            deviceId = ((Number) event.get("deviceId")).intValue();
-        } else if (eventData.get("deviceId") instanceof Number) {
-            deviceId = ((Number) eventData.get("deviceId")).intValue();
-        } else {
-            // Try to get deviceId from position object (for position-only forwards)
-            Object positionObj = eventData.get("position");
-            if (positionObj instanceof Map<?, ?>) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> positionMap = (Map<String, Object>) positionObj;
-                if (positionMap.get("deviceId") instanceof Number) {
-                    deviceId = ((Number) positionMap.get("deviceId")).intValue();
-                }
-            }
+    public void handleWebhookEvent(WebhookPayload payload) {
+        // Device ID from event, top-level data or position data (for position-only forwards)
+        int deviceId = payload.resolveDeviceId();
+        if (deviceId == 0) {
+            logger.debug("No device ID in webhook event");
+            return;
         }
 
-        if (deviceId == null) {
-            logger.debug("No device ID in webhook event");
+        TraccarDeviceHandler deviceHandler = findDeviceHandler(deviceId);
+        if (deviceHandler == null) {
             return;
         }
+        logger.debug("Processing webhook for device {}", deviceId);
 
-        final Integer finalDeviceId = deviceId;
-        getThing().getThings().forEach(thing -> {
-            if (thing.getHandler() instanceof TraccarDeviceHandler deviceHandler) {
-                TraccarDeviceConfiguration deviceConfig = deviceHandler.getConfiguration();
-                if (deviceConfig != null && deviceConfig.deviceId == finalDeviceId) {
-                    logger.debug("Processing webhook for device {}", finalDeviceId);
-
-                    // Handle position updates from webhook
-                    Object positionObj = eventData.get("position");
-                    if (positionObj instanceof Map<?, ?>) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> positionMap = (Map<String, Object>) positionObj;
-                        logger.debug("Updating position from webhook");
-                        deviceHandler.updatePositionFromWebhook(positionMap);
-                    }
+        // Handle position updates from webhook; bursts are collapsed into the newest position
+        Position position = payload.position;
+        if (position != null) {
+            logger.debug("Queueing position from webhook");
+            position.deviceId = deviceId;
+            deviceHandler.updatePositionFromWebhook(position);
+        }
 
-                    // Handle device status updates from webhook
-                    Object deviceObj = eventData.get("device");
-                    if (deviceObj instanceof Map<?, ?>) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> deviceMap = (Map<String, Object>) deviceObj;
-                        Object statusObj = deviceMap.get("status");
-                        if (statusObj instanceof String status) {
-                            logger.debug("Updating device status from webhook: {}", status);
-                            deviceHandler.updateStatus(status);
-                        }
-                    }
+        // Handle device status updates from webhook
+        Device device = payload.device;
+        String status = device != null ? device.status : null;
+        if (status != null) {
+            logger.debug("Updating device status from webhook: {}", status);
+            deviceHandler.updateStatus(status);
+        }
 
-                    // Handle geofence events
-                    if (event != null) {
-                        Object eventTypeObj = event.get("type");
-                        if (eventTypeObj instanceof String eventType) {
-                            if ("geofenceEnter".equals(eventType) || "geofenceExit".equals(eventType)) {
-                                logger.debug("Processing geofence event: {}", eventType);
-                                deviceHandler.handleGeofenceEvent(eventData);
-                            }
-                        }
+        // Handle geofence events
+        Event event = payload.event;
+        if (event != null && event.isGeofenceEvent()) {
+            logger.debug("Processing geofence event: {}", event.type);
+            deviceHandler.handleGeofenceEvent(payload);
+        }
+    }
+
+    /**
+     * Handle a position received over the WebSocket.
+     */
+    void handleStreamPosition(Position position) {
+        TraccarDeviceHandler deviceHandler = findDeviceHandler(position.deviceId);
+        if (deviceHandler != null) {
+            deviceHandler.updatePositionFromWebhook(position);
+        }
+    }
+
+    /**
+     * Hand a position to its device handler, which collapses bursts into the newest one.
+     */
+    private void applyPosition(Position position) {
+        TraccarDeviceHandler deviceHandler = deviceHandlers.get(position.deviceId);
+        if (deviceHandler != null) {
+            deviceHandler.updatePositionFromWebhook(position);
+        }
+    }
+
+    /**
+     * Handle a device (status) update received over the WebSocket.
+     */
+    void handleStreamDevice(Device device) {
+        String status = device.status;
+        TraccarDeviceHandler deviceHandler = findDeviceHandler(device.id);
+        if (deviceHandler != null && status != null) {
+            deviceHandler.updateStatus(status);
+        }
+    }
+
+    /**
+     * Handle an event received over the WebSocket. Only geofence events are mapped to channels;
+     * socket events carry the geofence ID but not its name.
+     */
+    void handleStreamEvent(Event event) {
+        if (!event.isGeofenceEvent()) {
+            return;
+        }
+        TraccarDeviceHandler deviceHandler = findDeviceHandler(event.deviceId);
+        if (deviceHandler != null) {
+            WebhookPayload payload = new WebhookPayload();
+            payload.event = event;
+            if (event.geofenceId != 0) {
+                Geofence geofence = new Geofence();
+                geofence.id = event.geofenceId;
+                payload.geofence = geofence;
+            }
+            deviceHandler.handleGeofenceEvent(payload);
+        }
+    }
+
+    private @Nullable TraccarDeviceHandler findDeviceHandler(int deviceId) {
+        TraccarDeviceHandler deviceHandler = deviceHandlers.get(deviceId);
+        AdaptivePollScheduler adaptive = pollScheduler;
+        if (deviceHandler != null && adaptive != null) {
+            // Pushed data is fresh, no need to poll this device right away
+            adaptive.pushed(deviceId, System.currentTimeMillis());
+        }
+        return deviceHandler;
+    }
+
+    /**
+     * Called by device handlers after a position was applied, to adapt the polling interval.
+     *
+     * @param active true if the device is moving or its ignition is on
+     */
+    void onDevicePosition(int deviceId, long positionId, boolean active) {
+        AdaptivePollScheduler adaptive = pollScheduler;
+        if (adaptive != null) {
+            adaptive.updatePositionId(deviceId, positionId);
+            adaptive.updateActivity(deviceId, active);
+        }
+    }
+
+    /**
+     * Called by device handlers when the online status of a device changed.
+     */
+    void onDeviceStatus(int deviceId, boolean online) {
+        AdaptivePollScheduler adaptive = pollScheduler;
+        if (adaptive != null) {
+            adaptive.updateOnline(deviceId, online);
+        }
+    }
+
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof TraccarDeviceHandler deviceHandler) {
+            registerDevice(deviceHandler);
+        }
+    }
+
+    /**
+     * Index a device handler under its configured Traccar device ID. Also called from the
+     * device handler's initialize(), since a configuration update re-initializes the handler
+     * in place without a childHandlerInitialized() call and may have changed the device ID.
+     */
+    void registerDevice(TraccarDeviceHandler deviceHandler) {
+        TraccarDeviceConfiguration deviceConfig = deviceHandler.getConfiguration();
+        if (deviceConfig != null) {
+            int deviceId = deviceConfig.deviceId;
+            AdaptivePollScheduler adaptive = pollScheduler;
+            deviceHandlers.entrySet().removeIf(entry -> {
+                if (entry.getValue() == deviceHandler && entry.getKey() != deviceId) {
+                    if (adaptive != null) {
+                        adaptive.remove(entry.getKey());
                     }
+                    return true;
                 }
+                return false;
+            });
+            TraccarDeviceHandler previous = deviceHandlers.put(deviceId, deviceHandler);
+            if (previous != null && previous != deviceHandler) {
+                logger.warn("Traccar device {} is configured on more than one thing, routing updates to {}",
+                        deviceId, deviceHandler.getThing().getUID());
             }
-        });
+        }
+        updateMappedAttributes();
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof TraccarDeviceHandler deviceHandler) {
+            TraccarDeviceConfiguration deviceConfig = deviceHandler.getConfiguration();
+            AdaptivePollScheduler adaptive = pollScheduler;
+            if (deviceConfig != null && adaptive != null) {
+                adaptive.remove(deviceConfig.deviceId);
+            }
+            deviceHandlers.values().remove(deviceHandler);
+            updateMappedAttributes();
+        }
     }
 
     /**
-     * Get the configured speed unit (kmh, mph, or knots)
+     * Recompute the attributes kept when decoding positions. Called when device things
+     * are added, removed or reconfigured, so removed mappings stop being decoded.
      */
-    public String getSpeedUnit() {
-        TraccarServerConfiguration cfg = config;
-        return cfg != null ? cfg.speedUnit : "kmh";
+    void updateMappedAttributes() {
+        Set<String> attributes = new HashSet<>();
+        for (TraccarDeviceHandler deviceHandler : deviceHandlers.values()) {
+            attributes.addAll(deviceHandler.getMappedAttributes());
+        }
+        mappedAttributes = Set.copyOf(attributes);
+    }
+
+    Decoder<Position> getPositionDecoder() {
+        return positionDecoder;
+    }
+
+    Decoder<WebhookPayload> getWebhookPayloadDecoder() {
+        return webhookPayloadDecoder;
     }
 
     /**
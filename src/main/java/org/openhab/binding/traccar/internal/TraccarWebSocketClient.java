@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketMessage;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.openhab.binding.traccar.internal.dto.Device;
+import org.openhab.binding.traccar.internal.dto.Event;
+import org.openhab.binding.traccar.internal.dto.Position;
+import org.openhab.binding.traccar.internal.dto.TraccarTypeAdapters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link TraccarWebSocketClient} receives live positions, device status and events
+ * from Traccar's /api/socket endpoint and forwards them to the bridge handler.
+ * Frames are decoded incrementally while they are read from the socket.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+@WebSocket
+public class TraccarWebSocketClient {
+
+    private static final long INITIAL_RECONNECT_DELAY_S = 1;
+    private static final long MAX_RECONNECT_DELAY_S = 300;
+
+    private final Logger logger = LoggerFactory.getLogger(TraccarWebSocketClient.class);
+
+    private final TraccarServerHandler serverHandler;
+    private final TraccarApiClient apiClient;
+    private final WebSocketClient webSocketClient;
+    private final ScheduledExecutorService scheduler;
+
+    private @Nullable Session session;
+    private @Nullable ScheduledFuture<?> reconnectJob;
+    private long reconnectDelay = INITIAL_RECONNECT_DELAY_S;
+    // Guarded by this client's lock. Set from scheduling a connection attempt until the session
+    // opens or the attempt fails, so late close and error callbacks cannot start a second attempt
+    private boolean connecting;
+    // Set while the WebSocket upgrade of the current attempt is in flight
+    private boolean upgrading;
+    private volatile boolean running;
+
+    public TraccarWebSocketClient(TraccarServerHandler serverHandler, TraccarApiClient apiClient,
+            WebSocketClient webSocketClient, ScheduledExecutorService scheduler) {
+        this.serverHandler = serverHandler;
+        this.apiClient = apiClient;
+        this.webSocketClient = webSocketClient;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Open the WebSocket connection. Reconnects automatically until {@link #stop()} is called.
+     */
+    public synchronized void start() {
+        running = true;
+        connecting = true;
+        scheduler.execute(this::connect);
+    }
+
+    /**
+     * Close the WebSocket connection and stop reconnecting.
+     */
+    public synchronized void stop() {
+        running = false;
+        connecting = false;
+        upgrading = false;
+        ScheduledFuture<?> job = reconnectJob;
+        if (job != null) {
+            job.cancel(true);
+            reconnectJob = null;
+        }
+        Session localSession = session;
+        if (localSession != null) {
+            localSession.close();
+            session = null;
+        }
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        // A fresh session also renews the one used by the REST calls
+        apiClient.authenticateAsync().whenComplete((authenticated, e) -> {
+            String sessionId = apiClient.getSessionId();
+            if (e == null && Boolean.TRUE.equals(authenticated) && sessionId != null) {
+                openSocket(sessionId);
+            } else {
+                attemptFailed(e != null ? e.getMessage() : "session could not be created");
+            }
+        });
+    }
+
+    private void openSocket(String sessionId) {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            upgrading = true;
+        }
+
+        URI uri = apiClient.getSocketUri();
+        ClientUpgradeRequest request = new ClientUpgradeRequest();
+        request.setCookies(List.of(new HttpCookie(TraccarApiClient.SESSION_COOKIE, sessionId)));
+        try {
+            logger.debug("Connecting to Traccar WebSocket {}", uri);
+            webSocketClient.connect(this, uri, request);
+        } catch (IOException | IllegalStateException e) {
+            attemptFailed(e.getMessage());
+        }
+    }
+
+    /**
+     * End the current connection attempt and schedule the next one.
+     */
+    private synchronized void attemptFailed(@Nullable String reason) {
+        connecting = false;
+        upgrading = false;
+        scheduleReconnect(reason);
+    }
+
+    private synchronized void scheduleReconnect(@Nullable String reason) {
+        if (!running) {
+            return;
+        }
+        if (connecting) {
+            // e.g. an error followed by a close: one attempt at a time is enough
+            logger.trace("Traccar WebSocket connection attempt already pending, ignoring ({})", reason);
+            return;
+        }
+        connecting = true;
+        logger.debug("Traccar WebSocket disconnected ({}), reconnecting in {} s", reason, reconnectDelay);
+        reconnectJob = scheduler.schedule(this::connect, reconnectDelay, TimeUnit.SECONDS);
+        reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_S);
+    }
+
+    @OnWebSocketConnect
+    public synchronized void onConnect(Session session) {
+        if (!running) {
+            session.close();
+            return;
+        }
+        this.session = session;
+        connecting = false;
+        upgrading = false;
+        reconnectDelay = INITIAL_RECONNECT_DELAY_S;
+        logger.info("Connected to Traccar WebSocket");
+        serverHandler.onStreamConnected();
+    }
+
+    @OnWebSocketClose
+    public synchronized void onClose(int statusCode, @Nullable String reason) {
+        session = null;
+        if (upgrading) {
+            attemptFailed(statusCode + " " + reason);
+        } else {
+            scheduleReconnect(statusCode + " " + reason);
+        }
+    }
+
+    @OnWebSocketError
+    public void onError(@Nullable Throwable cause) {
+        String message = cause != null ? cause.getMessage() : "unknown";
+        logger.debug("Traccar WebSocket error: {}", message);
+        synchronized (this) {
+            if (session == null && upgrading) {
+                // Failed upgrade (e.g. expired session): no close event follows
+                attemptFailed(message);
+            }
+        }
+    }
+
+    @OnWebSocketMessage
+    public void onMessage(Reader message) {
+        // Traccar frames look like {"positions":[...]}, {"devices":[...]} or {"events":[...]};
+        // an empty object is sent as keep-alive. Items are dispatched as soon as they are decoded.
+        try (JsonReader reader = new JsonReader(message)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    switch (name) {
+                        case "positions" -> {
+                            Position position = serverHandler.getPositionDecoder().read(reader);
+                            if (position != null) {
+                                serverHandler.handleStreamPosition(position);
+                            }
+                        }
+                        case "devices" -> {
+                            Device device = TraccarTypeAdapters.DEVICE.read(reader);
+                            if (device != null) {
+                                serverHandler.handleStreamDevice(device);
+                            }
+                        }
+                        case "events" -> {
+                            Event event = TraccarTypeAdapters.EVENT.read(reader);
+                            if (event != null) {
+                                serverHandler.handleStreamEvent(event);
+                            }
+                        }
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Failed to decode Traccar WebSocket message: {}", e.getMessage());
+        }
+    }
+}
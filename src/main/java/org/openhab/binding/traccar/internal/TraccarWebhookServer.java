@@ -12,9 +12,14 @@
  */
 package org.openhab.binding.traccar.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -24,35 +29,63 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openhab.binding.traccar.internal.dto.Event;
+import org.openhab.binding.traccar.internal.dto.TraccarTypeAdapters;
+import org.openhab.binding.traccar.internal.dto.WebhookPayload;
+import org.openhab.core.common.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 /**
  * The {@link TraccarWebhookServer} listens for webhook events from Traccar.
+ * Requests are acknowledged after a cheap validation and queued; worker threads
+ * decode and dispatch them, so slow channel updates never hold up Traccar's forwarder.
  *
  * @author Nanna Agesen - Initial contribution
  */
 public class TraccarWebhookServer {
 
+    public static final String OVERFLOW_DROP_OLDEST = "dropOldest";
+    public static final String OVERFLOW_REJECT = "reject";
+
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(TraccarWebhookServer.class);
-    private final Gson gson = new Gson();
 
     private final TraccarServerHandler serverHandler;
     private final int port;
+    private final int workers;
+    private final boolean rejectOnOverflow;
+    private final BlockingQueue<byte[]> queue;
     private @Nullable Server server;
+    private @Nullable ExecutorService workerPool;
+    private volatile boolean running;
 
-    public TraccarWebhookServer(TraccarServerHandler serverHandler, int port) {
+    /**
+     * @param queueCapacity maximum number of queued webhook requests
+     * @param workers number of threads processing queued requests
+     * @param overflowPolicy {@link #OVERFLOW_DROP_OLDEST} or {@link #OVERFLOW_REJECT} (answer 503)
+     */
+    public TraccarWebhookServer(TraccarServerHandler serverHandler, int port, int queueCapacity, int workers,
+            String overflowPolicy) {
         this.serverHandler = serverHandler;
         this.port = port;
+        this.workers = Math.max(1, workers);
+        this.rejectOnOverflow = OVERFLOW_REJECT.equals(overflowPolicy);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
     }
 
     /**
      * Start the webhook server.
      */
     public void start() throws Exception {
+        running = true;
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new NamedThreadFactory("traccar-webhook"));
+        for (int i = 0; i < workers; i++) {
+            pool.execute(this::drain);
+        }
+        workerPool = pool;
+
         server = new Server(port);
         server.setHandler(new WebhookHandler());
         server.start();
@@ -63,6 +96,7 @@ public class TraccarWebhookServer {
      * Stop the webhook server.
      */
     public void stop() {
+        running = false;
         Server localServer = server;
         if (localServer != null) {
             try {
@@ -72,6 +106,82 @@ public class TraccarWebhookServer {
                 logger.warn("Error stopping webhook server: {}", e.getMessage());
             }
         }
+        ExecutorService pool = workerPool;
+        if (pool != null) {
+            pool.shutdownNow();
+            workerPool = null;
+        }
+        queue.clear();
+    }
+
+    /**
+     * Get the number of webhook requests waiting to be processed.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Queue a request body; it is decoded from the raw bytes by a worker.
+     *
+     * @return false if the queue is full and the request was rejected
+     */
+    private boolean enqueue(byte[] body) {
+        if (rejectOnOverflow) {
+            return queue.offer(body);
+        }
+        while (!queue.offer(body)) {
+            if (queue.poll() != null) {
+                logger.debug("Webhook queue full, dropped oldest request");
+            }
+        }
+        return true;
+    }
+
+    private void drain() {
+        while (running) {
+            byte[] body;
+            try {
+                body = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                process(body);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to process webhook: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void process(byte[] body) throws IOException {
+        WebhookPayload payload = TraccarTypeAdapters.read(new ByteArrayInputStream(body),
+                serverHandler.getWebhookPayloadDecoder());
+        if (payload == null) {
+            return;
+        }
+        Event event = payload.event;
+        if (event != null) {
+            logger.debug("Processing webhook event type: {}", event.type);
+        } else {
+            logger.debug("Processing webhook position update");
+        }
+        serverHandler.handleWebhookEvent(payload);
+    }
+
+    /**
+     * Get the index of the first non-whitespace byte of a UTF-8 body.
+     *
+     * @return the index, or -1 if the body is blank
+     */
+    private static int firstNonWhitespace(byte[] body) {
+        for (int i = 0; i < body.length; i++) {
+            if (!Character.isWhitespace(body[i])) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     private class WebhookHandler extends AbstractHandler {
@@ -92,38 +202,52 @@ public class TraccarWebhookServer {
             }
 
             try {
-                String body = "";
-                Map<String, Object> eventData = null;
+                byte[] body = null;
 
-                // For POST requests, read JSON from body
+                // For POST requests, JSON is sent as request body
                 if ("POST".equals(request.getMethod())) {
-                    body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-                    logger.info("Received webhook (POST): {}", body);
-                    eventData = gson.fromJson(body, new TypeToken<Map<String, Object>>() {
-                    }.getType());
+                    boolean tooLarge = request.getContentLength() > MAX_BODY_SIZE;
+                    if (!tooLarge) {
+                        // Chunked requests have no content length, so look for input beyond the limit
+                        InputStream in = request.getInputStream();
+                        body = in.readNBytes(MAX_BODY_SIZE);
+                        tooLarge = body.length == MAX_BODY_SIZE && in.read() != -1;
+                    }
+                    if (tooLarge) {
+                        logger.debug("Rejecting webhook request larger than {} bytes", MAX_BODY_SIZE);
+                        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                        baseRequest.setHandled(true);
+                        return;
+                    }
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("Received webhook (POST): {}", new String(body, StandardCharsets.UTF_8));
+                    }
                 }
                 // For GET requests, Traccar sends JSON as 'json' parameter
                 else if ("GET".equals(request.getMethod())) {
-                    String jsonParam = request.getParameter("json");
-                    if (jsonParam != null && !jsonParam.isEmpty()) {
-                        logger.info("Received webhook (GET): {}", jsonParam);
-                        eventData = gson.fromJson(jsonParam, new TypeToken<Map<String, Object>>() {
-                        }.getType());
-                    } else {
-                        logger.debug("GET request with no json parameter");
+                    String json = request.getParameter("json");
+                    logger.trace("Received webhook (GET): {}", json);
+                    if (json != null) {
+                        body = json.getBytes(StandardCharsets.UTF_8);
                     }
                 }
 
-                if (eventData != null) {
-                    Object eventObj = eventData.get("event");
-                    if (eventObj instanceof Map<?, ?>) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> event = (Map<String, Object>) eventObj;
-                        logger.info("Processing webhook event type: {}", event.get("type"));
-                    } else {
-                        logger.info("Processing webhook position update");
-                    }
-                    serverHandler.handleWebhookEvent(eventData);
+                // Cheap validation only; decoding happens on the worker threads
+                int start = body != null ? firstNonWhitespace(body) : -1;
+                if (body != null && start >= 0 && body[start] != '{') {
+                    logger.debug("Ignoring webhook request without JSON object");
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    baseRequest.setHandled(true);
+                    return;
+                }
+
+                if (body == null || start < 0) {
+                    logger.debug("Webhook request without payload");
+                } else if (!enqueue(body)) {
+                    logger.debug("Webhook queue full, rejecting request");
+                    response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    baseRequest.setHandled(true);
+                    return;
                 }
 
                 // Send response
@@ -133,7 +257,7 @@ public class TraccarWebhookServer {
                 baseRequest.setHandled(true);
 
             } catch (Exception e) {
-                logger.warn("Failed to process webhook: {}", e.getMessage());
+                logger.warn("Failed to accept webhook: {}", e.getMessage());
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 baseRequest.setHandled(true);
             }
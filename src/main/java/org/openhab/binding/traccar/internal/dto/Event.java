@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal.dto;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An event (geofence enter/exit, alarm, ...) generated by Traccar.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class Event {
+
+    public long id;
+    public @Nullable String type;
+    public int deviceId;
+    public long positionId;
+    public long geofenceId; // 0 if the event is not related to a geofence
+
+    public boolean isGeofenceEvent() {
+        return "geofenceEnter".equals(type) || "geofenceExit".equals(type);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal.dto;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A position reported by a Traccar device. Numeric fields that were not present
+ * in the JSON are {@link Double#NaN}; only attributes mapped to channels are kept.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class Position {
+
+    public long id;
+    public int deviceId;
+    public @Nullable String protocol;
+    public @Nullable String deviceTime;
+    public long fixTime; // epoch milliseconds, 0 if unknown
+    public @Nullable Boolean valid;
+    public double latitude = Double.NaN;
+    public double longitude = Double.NaN;
+    public double altitude = Double.NaN;
+    public double speed = Double.NaN; // knots
+    public double course = Double.NaN;
+    public double accuracy = Double.NaN;
+    public @Nullable String address;
+    public Map<String, Object> attributes = Map.of();
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+}
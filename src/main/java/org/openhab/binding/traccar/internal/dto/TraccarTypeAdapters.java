@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal.dto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Hand-written decoders for the Traccar model. They read directly from a Gson
+ * {@link JsonReader}, store known fields in primitive fields and skip everything
+ * the binding does not use. The binding never serializes the model, so there is
+ * no write side.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public final class TraccarTypeAdapters {
+
+    /**
+     * Position attributes mapped to channels. Beacon (tagN...) and Teltonika IO (ioN)
+     * attributes are kept by prefix.
+     */
+    private static final Set<String> KNOWN_ATTRIBUTES = Set.of("batteryLevel", "odometer", "totalDistance", "motion",
+            "hours", "event", "distance", "activity", "ignition", "sat", "rssi", "gsm", "pdop", "hdop", "power",
+            "battery", "operator", "vin");
+
+    public static final Decoder<Device> DEVICE = new DeviceAdapter();
+    public static final Decoder<Event> EVENT = new EventAdapter();
+    public static final Decoder<Geofence> GEOFENCE = new GeofenceAdapter();
+
+    /**
+     * Reads one value from the current reader position.
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        /**
+         * @return the decoded value, or null if the JSON value is not an object
+         */
+        @Nullable
+        T read(JsonReader in) throws IOException;
+    }
+
+    private TraccarTypeAdapters() {
+    }
+
+    /**
+     * Create a position decoder that also keeps the attributes accepted by the given
+     * filter, e.g. those used by a bridge's custom attribute mappings.
+     */
+    public static Decoder<Position> positions(Predicate<String> extraAttributes) {
+        return new PositionAdapter(extraAttributes);
+    }
+
+    /**
+     * Create a webhook payload decoder reading the embedded position with the given decoder.
+     */
+    public static Decoder<WebhookPayload> webhookPayloads(Decoder<Position> positionDecoder) {
+        return new WebhookPayloadAdapter(positionDecoder);
+    }
+
+    /**
+     * Read a single JSON value of the decoder's type from a UTF-8 stream.
+     */
+    public static <T> @Nullable T read(InputStream in, Decoder<T> decoder) throws IOException {
+        return read(new InputStreamReader(in, StandardCharsets.UTF_8), decoder);
+    }
+
+    /**
+     * Read a single JSON value of the decoder's type.
+     */
+    public static <T> @Nullable T read(Reader in, Decoder<T> decoder) throws IOException {
+        try (JsonReader reader = new JsonReader(in)) {
+            return decoder.read(reader);
+        }
+    }
+
+    /**
+     * Read a JSON array of the decoder's type from a UTF-8 stream.
+     */
+    public static <T> List<T> readList(InputStream in, Decoder<T> decoder) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return readList(reader, decoder);
+        }
+    }
+
+    /**
+     * Read a JSON array of the decoder's type from the current reader position.
+     */
+    public static <T> List<T> readList(JsonReader reader, Decoder<T> decoder) throws IOException {
+        List<T> result = new ArrayList<>();
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return result;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            T item = decoder.read(reader);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        reader.endArray();
+        return result;
+    }
+
+    static boolean isKnownAttribute(String name) {
+        return KNOWN_ATTRIBUTES.contains(name) || name.startsWith("tag") || name.startsWith("io");
+    }
+
+    private static @Nullable String nextStringOrNull(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private static double nextDoubleOrNaN(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return reader.nextDouble();
+        }
+        reader.skipValue();
+        return Double.NaN;
+    }
+
+    private static long nextLongOrZero(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return (long) reader.nextDouble();
+        }
+        reader.skipValue();
+        return 0;
+    }
+
+    private static @Nullable Boolean nextBooleanOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private static long parseTime(@Nullable String time) {
+        if (time == null) {
+            return 0;
+        }
+        try {
+            return OffsetDateTime.parse(time).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Decodes a JSON object field by field into a new model instance.
+     */
+    private abstract static class ObjectAdapter<T> implements Decoder<T> {
+        @Override
+        public @Nullable T read(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                in.skipValue();
+                return null;
+            }
+            T value = create();
+            in.beginObject();
+            while (in.hasNext()) {
+                readField(in, in.nextName(), value);
+            }
+            in.endObject();
+            return value;
+        }
+
+        abstract T create();
+
+        abstract void readField(JsonReader in, String name, T value) throws IOException;
+    }
+
+    private static class PositionAdapter extends ObjectAdapter<Position> {
+        private final Predicate<String> extraAttributes;
+
+        PositionAdapter(Predicate<String> extraAttributes) {
+            this.extraAttributes = extraAttributes;
+        }
+
+        @Override
+        Position create() {
+            return new Position();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, Position position) throws IOException {
+            switch (name) {
+                case "id" -> position.id = nextLongOrZero(in);
+                case "deviceId" -> position.deviceId = (int) nextLongOrZero(in);
+                case "protocol" -> position.protocol = nextStringOrNull(in);
+                case "deviceTime" -> position.deviceTime = nextStringOrNull(in);
+                case "fixTime" -> position.fixTime = parseTime(nextStringOrNull(in));
+                case "valid" -> position.valid = nextBooleanOrNull(in);
+                case "latitude" -> position.latitude = nextDoubleOrNaN(in);
+                case "longitude" -> position.longitude = nextDoubleOrNaN(in);
+                case "altitude" -> position.altitude = nextDoubleOrNaN(in);
+                case "speed" -> position.speed = nextDoubleOrNaN(in);
+                case "course" -> position.course = nextDoubleOrNaN(in);
+                case "accuracy" -> position.accuracy = nextDoubleOrNaN(in);
+                case "address" -> position.address = nextStringOrNull(in);
+                case "attributes" -> position.attributes = readAttributes(in);
+                default -> in.skipValue();
+            }
+        }
+
+        private Map<String, Object> readAttributes(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                in.skipValue();
+                return Map.of();
+            }
+            Map<String, Object> attributes = new HashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (!isKnownAttribute(name) && !extraAttributes.test(name)) {
+                    in.skipValue();
+                    continue;
+                }
+                switch (in.peek()) {
+                    case NUMBER -> attributes.put(name, in.nextDouble());
+                    case STRING -> attributes.put(name, in.nextString());
+                    case BOOLEAN -> attributes.put(name, in.nextBoolean());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return attributes;
+        }
+    }
+
+    private static class DeviceAdapter extends ObjectAdapter<Device> {
+        @Override
+        Device create() {
+            return new Device();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, Device device) throws IOException {
+            switch (name) {
+                case "id" -> device.id = (int) nextLongOrZero(in);
+                case "name" -> device.name = nextStringOrNull(in);
+                case "uniqueId" -> device.uniqueId = nextStringOrNull(in);
+                case "status" -> device.status = nextStringOrNull(in);
+                case "model" -> device.model = nextStringOrNull(in);
+                case "contact" -> device.contact = nextStringOrNull(in);
+                case "positionId" -> device.positionId = nextLongOrZero(in);
+                default -> in.skipValue();
+            }
+        }
+    }
+
+    private static class EventAdapter extends ObjectAdapter<Event> {
+        @Override
+        Event create() {
+            return new Event();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, Event event) throws IOException {
+            switch (name) {
+                case "id" -> event.id = nextLongOrZero(in);
+                case "type" -> event.type = nextStringOrNull(in);
+                case "deviceId" -> event.deviceId = (int) nextLongOrZero(in);
+                case "positionId" -> event.positionId = nextLongOrZero(in);
+                case "geofenceId" -> event.geofenceId = nextLongOrZero(in);
+                default -> in.skipValue();
+            }
+        }
+    }
+
+    private static class GeofenceAdapter extends ObjectAdapter<Geofence> {
+        @Override
+        Geofence create() {
+            return new Geofence();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, Geofence geofence) throws IOException {
+            switch (name) {
+                case "id" -> geofence.id = nextLongOrZero(in);
+                case "name" -> geofence.name = nextStringOrNull(in);
+                default -> in.skipValue();
+            }
+        }
+    }
+
+    private static class WebhookPayloadAdapter extends ObjectAdapter<WebhookPayload> {
+        private final Decoder<Position> positionDecoder;
+
+        WebhookPayloadAdapter(Decoder<Position> positionDecoder) {
+            this.positionDecoder = positionDecoder;
+        }
+
+        @Override
+        WebhookPayload create() {
+            return new WebhookPayload();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, WebhookPayload payload) throws IOException {
+            switch (name) {
+                case "event" -> payload.event = EVENT.read(in);
+                case "position" -> payload.position = positionDecoder.read(in);
+                case "device" -> payload.device = DEVICE.read(in);
+                case "geofence" -> payload.geofence = GEOFENCE.read(in);
+                case "deviceId" -> payload.deviceId = (int) nextLongOrZero(in);
+                default -> in.skipValue();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal.dto;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Payload forwarded by Traccar's event and position forwarders. Each part is
+ * optional: position forwards carry no event, event forwards may carry no position.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class WebhookPayload {
+
+    public @Nullable Event event;
+    public @Nullable Position position;
+    public @Nullable Device device;
+    public @Nullable Geofence geofence;
+    public int deviceId; // top-level deviceId sent by some forwarders
+
+    /**
+     * Device ID from the event, the top level or the position, in that order.
+     *
+     * @return the device ID, or 0 if none is present
+     */
+    public int resolveDeviceId() {
+        Event localEvent = event;
+        if (localEvent != null && localEvent.deviceId != 0) {
+            return localEvent.deviceId;
+        }
+        if (deviceId != 0) {
+            return deviceId;
+        }
+        Position localPosition = position;
+        return localPosition != null ? localPosition.deviceId : 0;
+    }
+}
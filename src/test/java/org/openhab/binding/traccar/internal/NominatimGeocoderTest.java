@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2026 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.traccar.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link NominatimGeocoder} against a local server answering reverse geocoding requests.
+ *
+ * @author Nanna Agesen - Initial contribution
+ */
+@NonNullByDefault
+public class NominatimGeocoderTest {
+
+    private static final String RESPONSE = "{\"place_id\":1,\"address\":{\"road\":\"Main Street\",\"city\":\"Springfield\"}}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private @Nullable HttpServer server;
+    private @Nullable TraccarServerConfiguration config;
+    private @Nullable NominatimGeocoder geocoder;
+    private @Nullable Path cacheDir;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        httpServer.createContext("/reverse", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        httpServer.start();
+        server = httpServer;
+
+        TraccarServerConfiguration configuration = new TraccarServerConfiguration();
+        configuration.nominatimUrl = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+        configuration.nominatimHttp2 = false;
+        configuration.nominatimRequestRate = 100;
+        config = configuration;
+        geocoder = new NominatimGeocoder(configuration, null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        NominatimGeocoder nominatim = geocoder;
+        if (nominatim != null) {
+            nominatim.dispose();
+        }
+        HttpServer httpServer = server;
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        Path dir = cacheDir;
+        if (dir != null) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            } catch (IOException e) {
+                // best effort
+            }
+        }
+    }
+
+    @Test
+    public void coldAndWarmLookupAreCountedOnce() throws Exception {
+        NominatimGeocoder nominatim = geocoder;
+        assertNotNull(nominatim);
+
+        String cold = nominatim.getAddressAsync(55.6761, 12.5683, () -> true).get(10, TimeUnit.SECONDS);
+        String warm = nominatim.getAddressAsync(55.6761, 12.5684, () -> true).get(10, TimeUnit.SECONDS);
+
+        assertNotNull(cold);
+        assertEquals(cold, warm);
+        assertEquals(1, requests.get());
+        assertEquals(1, nominatim.getRequestCount());
+        GeocodeCache cache = nominatim.getCache();
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void storedAddressesSurviveDisposeAndRecreate() throws Exception {
+        TraccarServerConfiguration configuration = config;
+        assertNotNull(configuration);
+        Path dir = Files.createTempDirectory("traccar-geocode");
+        cacheDir = dir;
+        Path file = dir.resolve("geocode.cache");
+
+        NominatimGeocoder first = new NominatimGeocoder(configuration, new GeocodeCacheStore(file));
+        String address = first.getAddressAsync(55.6761, 12.5683, () -> true).get(10, TimeUnit.SECONDS);
+        first.dispose();
+        assertNotNull(address);
+
+        NominatimGeocoder second = new NominatimGeocoder(configuration, new GeocodeCacheStore(file));
+        try {
+            // Queued behind loading the file, so the lookup finds the restored address
+            assertEquals(address, second.getAddressAsync(55.6761, 12.5683, () -> true).get(10, TimeUnit.SECONDS));
+            assertEquals(1, requests.get());
+            assertEquals(0, second.getRequestCount());
+        } finally {
+            second.dispose();
+        }
+    }
+}